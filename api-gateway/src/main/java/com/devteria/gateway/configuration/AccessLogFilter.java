@@ -0,0 +1,106 @@
+package com.devteria.gateway.configuration;
+
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One structured line per sampled request on the access-log logger, which logback-spring.xml
+ * sends through a non-blocking async appender. Only the path is logged: no query string
+ * or headers, so tokens never reach the log. Server errors are always logged.
+ */
+@Component
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class AccessLogFilter implements GlobalFilter, Ordered {
+    static final String AUTH_LATENCY_ATTRIBUTE = AccessLogFilter.class.getName() + ".authLatency";
+    static final String UPSTREAM_LATENCY_ATTRIBUTE = AccessLogFilter.class.getName() + ".upstreamLatency";
+
+    private static final Logger ACCESS_LOG = LoggerFactory.getLogger("access-log");
+
+    boolean enabled;
+    double sampleRate;
+
+    public AccessLogFilter(@Value("${app.access-log.enabled:true}") boolean enabled,
+                           @Value("${app.access-log.sample-rate:0.1}") double sampleRate) {
+        this.enabled = enabled;
+        this.sampleRate = sampleRate;
+    }
+
+    static void recordAuthLatency(ServerWebExchange exchange, long startNanos) {
+        exchange.getAttributes().putIfAbsent(AUTH_LATENCY_ATTRIBUTE, System.nanoTime() - startNanos);
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        if (!enabled || !ACCESS_LOG.isInfoEnabled())
+            return chain.filter(exchange);
+
+        long start = System.nanoTime();
+
+        return chain.filter(exchange).doFinally(signal -> {
+            HttpStatusCode status = exchange.getResponse().getStatusCode();
+            boolean serverError = Objects.nonNull(status) && status.is5xxServerError();
+            if (!serverError && ThreadLocalRandom.current().nextDouble() >= sampleRate)
+                return;
+
+            Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+
+            ACCESS_LOG.atInfo()
+                    .addKeyValue("method", exchange.getRequest().getMethod().name())
+                    .addKeyValue("path", exchange.getRequest().getPath().value())
+                    .addKeyValue("route", Objects.nonNull(route) ? route.getId() : "-")
+                    .addKeyValue("status", Objects.nonNull(status) ? status.value() : 0)
+                    .addKeyValue("signal", signal)
+                    .addKeyValue("total_us", toMicros(System.nanoTime() - start))
+                    .addKeyValue("auth_us", toMicros(exchange.getAttribute(AUTH_LATENCY_ATTRIBUTE)))
+                    .addKeyValue("upstream_us", toMicros(exchange.getAttribute(UPSTREAM_LATENCY_ATTRIBUTE)))
+                    .log("access");
+        });
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+
+    private static long toMicros(Long nanos) {
+        return Objects.isNull(nanos) ? -1 : TimeUnit.NANOSECONDS.toMicros(nanos);
+    }
+
+    /**
+     * Runs right before the routing filter, so it times the proxied call up to the
+     * upstream response headers.
+     */
+    @Component
+    static class UpstreamLatencyFilter implements GlobalFilter, Ordered {
+        @Override
+        public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+            long start = System.nanoTime();
+
+            // doOnTerminate, not doFinally: it has to run before the outer filter's doFinally
+            return chain.filter(exchange)
+                    .doOnTerminate(() -> exchange.getAttributes()
+                            .put(UPSTREAM_LATENCY_ATTRIBUTE, System.nanoTime() - start));
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.LOWEST_PRECEDENCE - 1;
+        }
+    }
+}
@@ -2,14 +2,15 @@ package com.devteria.gateway.configuration;
 
 import com.devteria.gateway.dto.ApiResponse;
 import com.devteria.gateway.service.IdentityService;
+import com.devteria.gateway.service.TokenVerificationService;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nimbusds.jwt.JWTClaimsSet;
 import io.netty.handler.codec.http.HttpResponseStatus;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
 import lombok.experimental.NonFinal;
-import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cloud.gateway.filter.GatewayFilterChain;
 import org.springframework.cloud.gateway.filter.GlobalFilter;
@@ -25,33 +26,28 @@ import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 import reactor.netty.http.server.HttpServerResponse;
 
-import java.util.Arrays;
 import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
 
 @Component
-@Slf4j
 @RequiredArgsConstructor
 @FieldDefaults(level = AccessLevel.PACKAGE, makeFinal = true)
 public class AuthenticationFilter implements GlobalFilter, Ordered {
+    // Subject of the verified token, for filters that run after this one
+    public static final String SUBJECT_ATTRIBUTE = AuthenticationFilter.class.getName() + ".subject";
+
     IdentityService identityService;
+    TokenVerificationService tokenVerificationService;
     ObjectMapper objectMapper;
+    PublicEndpointMatcher publicEndpointMatcher;
 
+    @Value("${app.auth.local-verification:true}")
     @NonFinal
-    private String[] publicEndpoints = {
-            "/identity/auth/.*",
-            "/identity/users/registration",
-            "/notification/email/send",
-            "/file/media/download/.*"
-    };
-
-    @Value("${app.api-prefix}")
-    @NonFinal
-    private String apiPrefix;
+    private boolean localVerification;
 
     @Override
     public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
-        log.info("Enter authentication filter....");
-
         if (isPublicEndpoint(exchange.getRequest()))
             return chain.filter(exchange);
 
@@ -61,14 +57,29 @@ public class AuthenticationFilter implements GlobalFilter, Ordered {
             return unauthenticated(exchange.getResponse());
 
         String token = authHeader.getFirst().replace("Bearer ", "");
-        log.info("Token: {}", token);
+        long authStart = System.nanoTime();
+
+        if (localVerification) {
+            Optional<JWTClaimsSet> claims = tokenVerificationService.verifiedClaims(token);
+            AccessLogFilter.recordAuthLatency(exchange, authStart);
+            if (claims.isEmpty())
+                return unauthenticated(exchange.getResponse());
+
+            putSubject(exchange, claims.get().getSubject());
+            return chain.filter(exchange);
+        }
 
         return identityService.introspect(token).flatMap(introspectResponse -> {
-            if (introspectResponse.getResult().isValid())
+            AccessLogFilter.recordAuthLatency(exchange, authStart);
+            if (introspectResponse.getResult().isValid()) {
+                tokenVerificationService.subjectOf(token).ifPresent(subject -> putSubject(exchange, subject));
                 return chain.filter(exchange);
-            else
+            } else
                 return unauthenticated(exchange.getResponse());
-        }).onErrorResume(throwable -> unauthenticated(exchange.getResponse()));
+        }).onErrorResume(throwable -> {
+            AccessLogFilter.recordAuthLatency(exchange, authStart);
+            return unauthenticated(exchange.getResponse());
+        });
     }
 
     @Override
@@ -76,9 +87,13 @@ public class AuthenticationFilter implements GlobalFilter, Ordered {
         return -1;
     }
 
+    private void putSubject(ServerWebExchange exchange, String subject) {
+        if (Objects.nonNull(subject))
+            exchange.getAttributes().put(SUBJECT_ATTRIBUTE, subject);
+    }
+
     private boolean isPublicEndpoint(ServerHttpRequest request){
-        return Arrays.stream(publicEndpoints)
-                .anyMatch(s -> request.getURI().getPath().matches(apiPrefix + s));
+        return publicEndpointMatcher.matches(request.getMethod(), request.getURI().getPath());
     }
 
     Mono<Void> unauthenticated(ServerHttpResponse response){
@@ -0,0 +1,140 @@
+package com.devteria.gateway.configuration;
+
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.Mono;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Adds a weak ETag, a hash of the upstream JSON body, to successful GETs on the
+ * configured paths and answers 304 without a body when If-None-Match already has it.
+ * The body is buffered to hash it, so only list endpoints with bounded (paginated)
+ * responses. The upstream still builds the response; what is saved is the transfer to the client. Runs before
+ * NettyWriteResponseFilter so the body it writes goes through the decorator.
+ */
+@Component
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class ETagFilter implements GlobalFilter, Ordered {
+    List<PathPattern> patterns;
+
+    public ETagFilter(ETagProperties properties, @Value("${app.api-prefix}") String apiPrefix) {
+        this.patterns = properties.getPaths().stream()
+                .map(path -> PathPatternParser.defaultInstance.parse(apiPrefix + path))
+                .toList();
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        if (!HttpMethod.GET.equals(request.getMethod())
+                || patterns.stream().noneMatch(pattern -> pattern.matches(request.getPath().pathWithinApplication())))
+            return chain.filter(exchange);
+
+        return chain.filter(exchange.mutate()
+                .response(new ETagResponse(exchange.getResponse(), ifNoneMatch(request)))
+                .build());
+    }
+
+    // A malformed header is treated as absent, which only costs the client a full response
+    private static List<String> ifNoneMatch(ServerHttpRequest request) {
+        try {
+            return request.getHeaders().getIfNoneMatch();
+        } catch (IllegalArgumentException e) {
+            return List.of();
+        }
+    }
+
+    @Override
+    public int getOrder() {
+        return NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 1;
+    }
+
+    private static class ETagResponse extends ServerHttpResponseDecorator {
+        final List<String> ifNoneMatch;
+
+        ETagResponse(ServerHttpResponse delegate, List<String> ifNoneMatch) {
+            super(delegate);
+            this.ifNoneMatch = ifNoneMatch;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            HttpHeaders headers = getHeaders();
+            if (!HttpStatus.OK.equals(getStatusCode())
+                    || Objects.nonNull(headers.getETag())
+                    || Objects.isNull(headers.getContentType())
+                    || !MediaType.APPLICATION_JSON.isCompatibleWith(headers.getContentType()))
+                return super.writeWith(body);
+
+            return DataBufferUtils.join(body).flatMap(buffer -> {
+                String etag = "W/\"" + hash(buffer) + "\"";
+                headers.setETag(etag);
+                if (!headers.containsKey(HttpHeaders.CACHE_CONTROL))
+                    // Per-user feeds: browsers may keep them but must revalidate, shared caches must not
+                    headers.setCacheControl("private, no-cache");
+
+                if (!matches(etag))
+                    return getDelegate().writeWith(Mono.just(buffer));
+
+                DataBufferUtils.release(buffer);
+                setStatusCode(HttpStatus.NOT_MODIFIED);
+                headers.remove(HttpHeaders.CONTENT_LENGTH);
+                headers.remove(HttpHeaders.CONTENT_TYPE);
+                headers.remove(HttpHeaders.TRANSFER_ENCODING);
+
+                return getDelegate().setComplete();
+            });
+        }
+
+        // Weak comparison, as required for If-None-Match
+        private boolean matches(String etag) {
+            String opaqueTag = stripWeak(etag);
+
+            return ifNoneMatch.stream()
+                    .anyMatch(candidate -> "*".equals(candidate) || stripWeak(candidate).equals(opaqueTag));
+        }
+
+        private static String stripWeak(String etag) {
+            return etag.startsWith("W/") ? etag.substring(2) : etag;
+        }
+
+        private static String hash(DataBuffer buffer) {
+            try {
+                MessageDigest digest = MessageDigest.getInstance("SHA-256");
+                try (DataBuffer.ByteBufferIterator iterator = buffer.readableByteBuffers()) {
+                    while (iterator.hasNext())
+                        digest.update(iterator.next());
+                }
+
+                // 128 bits is plenty to tell versions of one resource apart
+                return HexFormat.of().formatHex(digest.digest(), 0, 16);
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
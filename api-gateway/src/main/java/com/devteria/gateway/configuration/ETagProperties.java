@@ -0,0 +1,19 @@
+package com.devteria.gateway.configuration;
+
+import lombok.AccessLevel;
+import lombok.Data;
+import lombok.experimental.FieldDefaults;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.etag")
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class ETagProperties {
+    // Path patterns after app.api-prefix, e.g. /post/my-posts or /chat/**
+    List<String> paths = new ArrayList<>();
+}
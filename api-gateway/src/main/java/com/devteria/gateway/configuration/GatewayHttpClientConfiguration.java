@@ -0,0 +1,84 @@
+package com.devteria.gateway.configuration;
+
+import io.netty.channel.ChannelOption;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.cloud.gateway.config.HttpClientCustomizer;
+import org.springframework.cloud.gateway.config.HttpClientFactory;
+import org.springframework.cloud.gateway.config.HttpClientProperties;
+import org.springframework.cloud.gateway.config.HttpClientSslConfigurer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.util.List;
+
+/**
+ * One connection pool per upstream instance, shared by the proxied routes and the
+ * WebClient used for introspection. Per-route connect/response timeouts are set
+ * as route metadata in application.yaml.
+ */
+@Configuration
+public class GatewayHttpClientConfiguration {
+
+    @Bean(destroyMethod = "dispose")
+    ConnectionProvider upstreamConnectionProvider(UpstreamProperties upstreamProperties) {
+        UpstreamProperties.Upstream defaults = upstreamProperties.getDefaults();
+
+        ConnectionProvider.Builder builder = ConnectionProvider.builder("upstream")
+                .maxConnections(defaults.getMaxConnections())
+                .pendingAcquireMaxCount(defaults.getPendingAcquireMaxCount())
+                .pendingAcquireTimeout(defaults.getPendingAcquireTimeout())
+                .maxIdleTime(defaults.getMaxIdleTime())
+                .maxLifeTime(defaults.getMaxLifeTime())
+                .evictInBackground(defaults.getMaxIdleTime())
+                // reactor.netty.connection.provider.* gauges: active, idle, pending connections
+                .metrics(true);
+
+        // Instances added later through a refresh share the default pool until the next restart
+        for (UpstreamProperties.Upstream upstream : upstreamProperties.getUpstreams().values())
+            for (URI instance : upstream.getInstances()) {
+                // Unresolved, like the addresses HttpClient acquires with, or the pool would not be found
+                InetSocketAddress address = InetSocketAddress.createUnresolved(instance.getHost(), instance.getPort());
+
+                builder.forRemoteHost(address, spec -> spec
+                        .maxConnections(upstream.getMaxConnections())
+                        .pendingAcquireMaxCount(upstream.getPendingAcquireMaxCount())
+                        .pendingAcquireTimeout(upstream.getPendingAcquireTimeout())
+                        .maxIdleTime(upstream.getMaxIdleTime())
+                        .maxLifeTime(upstream.getMaxLifeTime())
+                        .evictInBackground(upstream.getMaxIdleTime())
+                        .metrics(true));
+            }
+
+        return builder.build();
+    }
+
+    @Bean
+    HttpClientFactory gatewayHttpClientFactory(HttpClientProperties properties,
+                                               ServerProperties serverProperties,
+                                               HttpClientSslConfigurer sslConfigurer,
+                                               List<HttpClientCustomizer> customizers,
+                                               ConnectionProvider upstreamConnectionProvider) {
+        return new HttpClientFactory(properties, serverProperties, sslConfigurer, customizers) {
+            @Override
+            protected ConnectionProvider buildConnectionProvider(HttpClientProperties properties) {
+                return upstreamConnectionProvider;
+            }
+        };
+    }
+
+    @Bean
+    HttpClientCustomizer upstreamHttpClientCustomizer(UpstreamProperties upstreamProperties) {
+        return httpClient -> {
+            HttpClient keepAlive = httpClient.option(ChannelOption.SO_KEEPALIVE, true);
+
+            return upstreamProperties.isH2c()
+                    ? keepAlive.protocol(HttpProtocol.H2C, HttpProtocol.HTTP11)
+                    : keepAlive;
+        };
+    }
+}
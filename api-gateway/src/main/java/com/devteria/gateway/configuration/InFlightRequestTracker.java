@@ -0,0 +1,92 @@
+package com.devteria.gateway.configuration;
+
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.ReactiveLoadBalancerClientFilter;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Per upstream instance counts for LeastOutstandingRequestsLoadBalancer. A request is counted
+ * in flight from the call to the chosen instance until it completes, fails or is cancelled
+ * (client gone, breaker timeout). The load balancer lifecycle cannot do this, because it has
+ * no callback for cancellation. Gateway routes are counted as a global filter right after
+ * the load balancer filter. The load-balanced WebClient is counted as an exchange filter
+ * placed after the load balancer function, where the URL names the instance.
+ */
+@Component
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class InFlightRequestTracker implements GlobalFilter, Ordered, ExchangeFilterFunction {
+    Map<String, InstanceStats> stats = new ConcurrentHashMap<>();
+
+    InstanceStats statsOf(ServiceInstance instance) {
+        return statsOf(instance.getHost(), instance.getPort());
+    }
+
+    private InstanceStats statsOf(String host, int port) {
+        return stats.computeIfAbsent(host + ":" + port, key -> new InstanceStats());
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Response<ServiceInstance> lbResponse =
+                exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_LOADBALANCER_RESPONSE_ATTR);
+        if (Objects.isNull(lbResponse) || !lbResponse.hasServer())
+            return chain.filter(exchange);
+
+        return track(statsOf(lbResponse.getServer()), chain.filter(exchange));
+    }
+
+    @Override
+    public int getOrder() {
+        return ReactiveLoadBalancerClientFilter.LOAD_BALANCER_CLIENT_FILTER_ORDER + 1;
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        URI url = request.url();
+
+        return track(statsOf(url.getHost(), url.getPort()), next.exchange(request));
+    }
+
+    // doFinally runs exactly once, for completion, error and cancel alike
+    private static <T> Mono<T> track(InstanceStats instanceStats, Mono<T> call) {
+        return Mono.defer(() -> {
+            instanceStats.outstanding.incrementAndGet();
+            return call.doFinally(signal -> instanceStats.outstanding.decrementAndGet());
+        });
+    }
+
+    static class InstanceStats {
+        final AtomicInteger outstanding = new AtomicInteger();
+        final AtomicInteger consecutiveFailures = new AtomicInteger();
+        volatile long ejectedUntil = Long.MIN_VALUE;
+
+        boolean isEjected(long now) {
+            return ejectedUntil != Long.MIN_VALUE && now - ejectedUntil < 0;
+        }
+
+        boolean isBetterThan(InstanceStats other) {
+            int byOutstanding = Integer.compare(outstanding.get(), other.outstanding.get());
+            return byOutstanding < 0
+                    || (byOutstanding == 0 && consecutiveFailures.get() < other.consecutiveFailures.get());
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.devteria.gateway.configuration;
+
+import lombok.AccessLevel;
+import lombok.Data;
+import lombok.experimental.FieldDefaults;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "jwt")
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class JwtProperties {
+    String signerKey;
+    String keyId;
+    Map<String, String> previousKeys = new HashMap<>();
+}
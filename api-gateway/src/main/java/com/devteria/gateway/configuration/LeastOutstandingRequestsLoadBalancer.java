@@ -0,0 +1,121 @@
+package com.devteria.gateway.configuration;
+
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.CompletionContext;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.EmptyResponse;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerLifecycle;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.RequestDataContext;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.client.loadbalancer.ResponseData;
+import org.springframework.cloud.loadbalancer.core.NoopServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.core.ReactorServiceInstanceLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Sends each request to the instance of one service with the fewest requests in flight,
+ * preferring instances with fewer recent failures on a tie. An instance that fails
+ * (connection error or 5xx) several times in a row is ejected for a while; if every
+ * instance is ejected they are all used again. InFlightRequestTracker keeps the counts
+ * in flight; failures come from the lifecycle callbacks of the gateway routing filter and
+ * the load-balanced WebClient.
+ */
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class LeastOutstandingRequestsLoadBalancer implements ReactorServiceInstanceLoadBalancer,
+        LoadBalancerLifecycle<RequestDataContext, ResponseData, ServiceInstance> {
+    ObjectProvider<ServiceInstanceListSupplier> serviceInstanceListSupplierProvider;
+    InFlightRequestTracker inFlightRequestTracker;
+    int failureThreshold;
+    long ejectionNanos;
+
+    public LeastOutstandingRequestsLoadBalancer(
+            ObjectProvider<ServiceInstanceListSupplier> serviceInstanceListSupplierProvider,
+            InFlightRequestTracker inFlightRequestTracker,
+            int failureThreshold,
+            Duration ejectionDuration) {
+        this.serviceInstanceListSupplierProvider = serviceInstanceListSupplierProvider;
+        this.inFlightRequestTracker = inFlightRequestTracker;
+        this.failureThreshold = failureThreshold;
+        this.ejectionNanos = ejectionDuration.toNanos();
+    }
+
+    @Override
+    public Mono<Response<ServiceInstance>> choose(Request request) {
+        ServiceInstanceListSupplier supplier =
+                serviceInstanceListSupplierProvider.getIfAvailable(NoopServiceInstanceListSupplier::new);
+
+        return supplier.get(request).next().map(this::choose);
+    }
+
+    Response<ServiceInstance> choose(List<ServiceInstance> instances) {
+        if (instances.isEmpty())
+            return new EmptyResponse();
+
+        long now = System.nanoTime();
+        List<ServiceInstance> available = instances.stream()
+                .filter(instance -> !statsOf(instance).isEjected(now))
+                .toList();
+        List<ServiceInstance> candidates = available.isEmpty() ? instances : available;
+
+        // Start at a random instance so ties do not all land on the first one
+        int offset = ThreadLocalRandom.current().nextInt(candidates.size());
+        ServiceInstance best = null;
+        InFlightRequestTracker.InstanceStats bestStats = null;
+        for (int i = 0; i < candidates.size(); i++) {
+            ServiceInstance instance = candidates.get((offset + i) % candidates.size());
+            InFlightRequestTracker.InstanceStats instanceStats = statsOf(instance);
+            if (Objects.isNull(bestStats) || instanceStats.isBetterThan(bestStats)) {
+                best = instance;
+                bestStats = instanceStats;
+            }
+        }
+
+        return new DefaultResponse(best);
+    }
+
+    @Override
+    public void onStart(Request<RequestDataContext> request) {
+    }
+
+    @Override
+    public void onStartRequest(Request<RequestDataContext> request, Response<ServiceInstance> lbResponse) {
+    }
+
+    @Override
+    public void onComplete(CompletionContext<ResponseData, ServiceInstance, RequestDataContext> completionContext) {
+        Response<ServiceInstance> lbResponse = completionContext.getLoadBalancerResponse();
+        if (Objects.isNull(lbResponse) || !lbResponse.hasServer()
+                || completionContext.status() == CompletionContext.Status.DISCARD)
+            return;
+
+        InFlightRequestTracker.InstanceStats instanceStats = statsOf(lbResponse.getServer());
+        ResponseData response = completionContext.getClientResponse();
+        boolean failed = completionContext.status() == CompletionContext.Status.FAILED
+                || (Objects.nonNull(response) && Objects.nonNull(response.getHttpStatus())
+                        && response.getHttpStatus().is5xxServerError());
+
+        if (!failed) {
+            instanceStats.consecutiveFailures.set(0);
+            return;
+        }
+
+        if (instanceStats.consecutiveFailures.incrementAndGet() >= failureThreshold) {
+            instanceStats.consecutiveFailures.set(0);
+            instanceStats.ejectedUntil = System.nanoTime() + ejectionNanos;
+        }
+    }
+
+    private InFlightRequestTracker.InstanceStats statsOf(ServiceInstance instance) {
+        return inFlightRequestTracker.statsOf(instance);
+    }
+}
@@ -0,0 +1,136 @@
+package com.devteria.gateway.configuration;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.AccessLevel;
+import lombok.Data;
+import lombok.experimental.FieldDefaults;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.gateway.filter.ratelimit.AbstractRateLimiter;
+import org.springframework.cloud.gateway.support.ConfigurationService;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token buckets kept in this gateway instance, one per route and key. Each bucket is a
+ * single AtomicLong updated by compare-and-set (GCRA, the token bucket expressed as the
+ * time at which the bucket will be full again), so concurrent requests never lock.
+ * Limits come from the route's local-rate-limiter.* filter args, then
+ * app.rate-limit.routes.&lt;route id&gt;, then app.rate-limit.defaults. All three are validated
+ * when bound, so a rate of 0 or one too fast for a nanosecond interval fails at startup.
+ */
+@Component
+@ConditionalOnProperty(name = "app.rate-limit.backend", havingValue = "local", matchIfMissing = true)
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class LocalTokenBucketRateLimiter extends AbstractRateLimiter<LocalTokenBucketRateLimiter.Config> {
+    public static final String CONFIGURATION_PROPERTY_NAME = "local-rate-limiter";
+
+    public static final String LIMIT_HEADER = "RateLimit-Limit";
+    public static final String REMAINING_HEADER = "RateLimit-Remaining";
+    public static final String RESET_HEADER = "RateLimit-Reset";
+    public static final String RETRY_AFTER_HEADER = "Retry-After";
+
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    RateLimitProperties rateLimitProperties;
+    Cache<String, TokenBucket> buckets;
+
+    public LocalTokenBucketRateLimiter(RateLimitProperties rateLimitProperties,
+                                       ConfigurationService configurationService) {
+        super(Config.class, CONFIGURATION_PROPERTY_NAME, configurationService);
+        this.rateLimitProperties = rateLimitProperties;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(rateLimitProperties.getMaximumBuckets())
+                .expireAfterAccess(rateLimitProperties.getIdleTimeout())
+                .build();
+    }
+
+    @Override
+    public Mono<Response> isAllowed(String routeId, String id) {
+        Config config = loadConfiguration(routeId);
+        long intervalNanos = NANOS_PER_SECOND / config.getReplenishRate();
+        long capacityNanos = intervalNanos * config.getBurstCapacity();
+        long costNanos = intervalNanos * config.getRequestedTokens();
+        long now = System.nanoTime();
+
+        TokenBucket bucket = buckets.get(routeId + ":" + id, key -> new TokenBucket(now));
+        long fullInNanos = bucket.tryConsume(now, costNanos, capacityNanos);
+        boolean allowed = fullInNanos >= 0;
+
+        Map<String, String> headers = new HashMap<>();
+        if (config.isIncludeHeaders()) {
+            long backlogNanos = allowed ? fullInNanos : bucket.fullInNanos(now);
+            headers.put(LIMIT_HEADER, String.valueOf(config.getBurstCapacity()));
+            headers.put(REMAINING_HEADER, String.valueOf(Math.max(0, (capacityNanos - backlogNanos) / intervalNanos)));
+            headers.put(RESET_HEADER, String.valueOf(toSecondsRoundedUp(backlogNanos)));
+            if (!allowed)
+                headers.put(RETRY_AFTER_HEADER, String.valueOf(toSecondsRoundedUp(-fullInNanos)));
+        }
+
+        return Mono.just(new Response(allowed, headers));
+    }
+
+    private Config loadConfiguration(String routeId) {
+        Config config = getConfig().get(routeId);
+        if (Objects.isNull(config))
+            config = rateLimitProperties.getRoutes().get(routeId);
+
+        return Objects.nonNull(config) ? config : rateLimitProperties.getDefaults();
+    }
+
+    private static long toSecondsRoundedUp(long nanos) {
+        return (nanos + NANOS_PER_SECOND - 1) / NANOS_PER_SECOND;
+    }
+
+    @Data
+    @FieldDefaults(level = AccessLevel.PRIVATE)
+    public static class Config {
+        // Tokens added per second; at most one per nanosecond, the resolution of the buckets
+        @Min(1)
+        @Max(NANOS_PER_SECOND)
+        int replenishRate = 50;
+        @Min(1)
+        int burstCapacity = 100;
+        @Min(1)
+        int requestedTokens = 1;
+        boolean includeHeaders = true;
+    }
+
+    static final class TokenBucket {
+        // nanoTime at which the bucket is full again; at or before now means full
+        final AtomicLong fullAt;
+
+        TokenBucket(long now) {
+            this.fullAt = new AtomicLong(now);
+        }
+
+        /**
+         * Takes cost worth of tokens if they are there. Returns how long until the bucket is
+         * full again when allowed, or minus the time until the request would fit when not.
+         */
+        long tryConsume(long now, long costNanos, long capacityNanos) {
+            while (true) {
+                long current = fullAt.get();
+                long next = Math.max(current, now) + costNanos;
+                long backlog = next - now;
+
+                if (backlog > capacityNanos)
+                    return -(backlog - capacityNanos);
+
+                if (fullAt.compareAndSet(current, next))
+                    return backlog;
+            }
+        }
+
+        long fullInNanos(long now) {
+            return Math.max(0, fullAt.get() - now);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.devteria.gateway.configuration;
+
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * The configured public endpoints compiled once at startup into a single alternation
+ * per HTTP method, so a request costs one map lookup and one regex match.
+ */
+@Component
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class PublicEndpointMatcher {
+    Map<HttpMethod, Pattern> patternsByMethod;
+
+    // For methods outside HttpMethod.values(), only rules without methods apply
+    Pattern anyMethodPattern;
+
+    public PublicEndpointMatcher(PublicEndpointProperties properties,
+                                 @Value("${app.api-prefix}") String apiPrefix) {
+        List<PublicEndpointProperties.PublicEndpoint> endpoints = properties.getPublicEndpoints();
+
+        Map<HttpMethod, Pattern> patterns = new HashMap<>();
+        for (HttpMethod method : HttpMethod.values()) {
+            Pattern pattern = compile(apiPrefix, endpoints.stream()
+                    .filter(endpoint -> endpoint.getMethods().isEmpty()
+                            || endpoint.getMethods().stream().anyMatch(method.name()::equalsIgnoreCase))
+                    .toList());
+            if (Objects.nonNull(pattern))
+                patterns.put(method, pattern);
+        }
+
+        this.patternsByMethod = Map.copyOf(patterns);
+        this.anyMethodPattern = compile(apiPrefix, endpoints.stream()
+                .filter(endpoint -> endpoint.getMethods().isEmpty())
+                .toList());
+    }
+
+    public boolean matches(HttpMethod method, String path) {
+        Pattern pattern = patternsByMethod.getOrDefault(method, anyMethodPattern);
+
+        return Objects.nonNull(pattern) && pattern.matcher(path).matches();
+    }
+
+    private static Pattern compile(String apiPrefix, List<PublicEndpointProperties.PublicEndpoint> endpoints) {
+        if (endpoints.isEmpty())
+            return null;
+
+        return Pattern.compile(Pattern.quote(apiPrefix) + endpoints.stream()
+                .map(endpoint -> "(?:" + endpoint.getPath() + ")")
+                .collect(Collectors.joining("|", "(?:", ")")));
+    }
+}
@@ -0,0 +1,30 @@
+package com.devteria.gateway.configuration;
+
+import lombok.AccessLevel;
+import lombok.Data;
+import lombok.experimental.FieldDefaults;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.auth")
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class PublicEndpointProperties {
+    List<PublicEndpoint> publicEndpoints = new ArrayList<>();
+
+    @Data
+    @FieldDefaults(level = AccessLevel.PRIVATE)
+    public static class PublicEndpoint {
+        // Regex matched against the whole path after app.api-prefix
+        String path;
+
+        // Empty means any method
+        Set<String> methods = new HashSet<>();
+    }
+}
@@ -0,0 +1,34 @@
+package com.devteria.gateway.configuration;
+
+import jakarta.validation.Valid;
+import lombok.AccessLevel;
+import lombok.Data;
+import lombok.experimental.FieldDefaults;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.rate-limit")
+@Validated
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class RateLimitProperties {
+    // local keeps buckets in this gateway; redis hands these limits to Spring Cloud Gateway's RedisRateLimiter
+    String backend = "local";
+
+    @Valid
+    LocalTokenBucketRateLimiter.Config defaults = new LocalTokenBucketRateLimiter.Config();
+
+    // By route id, for routes that need a different limit than defaults
+    @Valid
+    Map<String, LocalTokenBucketRateLimiter.Config> routes = new HashMap<>();
+
+    // Buckets of keys that stopped sending requests are dropped after this
+    Duration idleTimeout = Duration.ofMinutes(10);
+    long maximumBuckets = 100_000;
+}
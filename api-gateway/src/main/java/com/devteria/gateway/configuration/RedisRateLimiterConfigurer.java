@@ -0,0 +1,62 @@
+package com.devteria.gateway.configuration;
+
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.gateway.filter.ratelimit.RedisRateLimiter;
+import org.springframework.cloud.gateway.route.RouteDefinitionRouteLocator;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import java.util.Map;
+
+/**
+ * With app.rate-limit.backend: redis, hands app.rate-limit to the RedisRateLimiter that
+ * Spring Cloud Gateway configures once spring-boot-starter-data-redis-reactive is on the
+ * classpath (build with -Predis). Defaults go under the default filters and per route
+ * limits under their route id, the two places RedisRateLimiter looks; redis-rate-limiter.*
+ * args on a route still win. Without the starter there is no rate limiter at all, so this
+ * fails the startup with the fix instead.
+ */
+@Component
+@ConditionalOnProperty(name = "app.rate-limit.backend", havingValue = "redis")
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class RedisRateLimiterConfigurer implements SmartInitializingSingleton {
+    private static final String REDIS_TEMPLATE_CLASS = "org.springframework.data.redis.core.ReactiveStringRedisTemplate";
+
+    RateLimitProperties rateLimitProperties;
+    ObjectProvider<RedisRateLimiter> redisRateLimiterProvider;
+
+    public RedisRateLimiterConfigurer(RateLimitProperties rateLimitProperties,
+                                      ObjectProvider<RedisRateLimiter> redisRateLimiterProvider) {
+        if (!ClassUtils.isPresent(REDIS_TEMPLATE_CLASS, getClass().getClassLoader()))
+            throw new IllegalStateException("app.rate-limit.backend is redis but spring-boot-starter-data-redis-reactive "
+                    + "is not on the classpath; build with -Predis or set the backend to local");
+
+        this.rateLimitProperties = rateLimitProperties;
+        this.redisRateLimiterProvider = redisRateLimiterProvider;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        configure(redisRateLimiterProvider.getObject(), rateLimitProperties);
+    }
+
+    static void configure(RedisRateLimiter redisRateLimiter, RateLimitProperties rateLimitProperties) {
+        Map<String, RedisRateLimiter.Config> config = redisRateLimiter.getConfig();
+        config.putIfAbsent(RouteDefinitionRouteLocator.DEFAULT_FILTERS, toRedisConfig(rateLimitProperties.getDefaults()));
+        rateLimitProperties.getRoutes().forEach((routeId, routeConfig) ->
+                config.putIfAbsent(routeId, toRedisConfig(routeConfig)));
+
+        redisRateLimiter.setIncludeHeaders(rateLimitProperties.getDefaults().isIncludeHeaders());
+    }
+
+    private static RedisRateLimiter.Config toRedisConfig(LocalTokenBucketRateLimiter.Config config) {
+        return new RedisRateLimiter.Config()
+                .setReplenishRate(config.getReplenishRate())
+                .setBurstCapacity(config.getBurstCapacity())
+                .setRequestedTokens(config.getRequestedTokens());
+    }
+}
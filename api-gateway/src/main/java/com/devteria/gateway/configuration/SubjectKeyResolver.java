@@ -0,0 +1,33 @@
+package com.devteria.gateway.configuration;
+
+import org.springframework.cloud.gateway.filter.ratelimit.KeyResolver;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.util.Objects;
+
+/**
+ * Rate limit key: the token subject set by AuthenticationFilter, or the client address
+ * for public endpoints. The limiter already scopes buckets by route.
+ */
+@Component
+public class SubjectKeyResolver implements KeyResolver {
+
+    @Override
+    public Mono<String> resolve(ServerWebExchange exchange) {
+        String subject = exchange.getAttribute(AuthenticationFilter.SUBJECT_ATTRIBUTE);
+        if (Objects.nonNull(subject))
+            return Mono.just("user:" + subject);
+
+        return Mono.justOrEmpty(clientAddress(exchange.getRequest())).map(address -> "ip:" + address);
+    }
+
+    // The gateway is the edge, so X-Forwarded-For would only be whatever the client chose to send
+    private static String clientAddress(ServerHttpRequest request) {
+        InetSocketAddress remoteAddress = request.getRemoteAddress();
+        return Objects.nonNull(remoteAddress) ? remoteAddress.getHostString() : null;
+    }
+}
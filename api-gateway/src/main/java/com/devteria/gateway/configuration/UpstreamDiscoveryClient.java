@@ -0,0 +1,51 @@
+package com.devteria.gateway.configuration;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.ReactiveDiscoveryClient;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+
+import java.net.URI;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Serves the instances listed under app.http-client.upstreams to the load balancer.
+ * Replace it with a registry-backed ReactiveDiscoveryClient to discover instances instead.
+ */
+@Component
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class UpstreamDiscoveryClient implements ReactiveDiscoveryClient {
+    UpstreamProperties upstreamProperties;
+
+    @Override
+    public String description() {
+        return "Upstream instances from app.http-client.upstreams";
+    }
+
+    @Override
+    public Flux<ServiceInstance> getInstances(String serviceId) {
+        UpstreamProperties.Upstream upstream = upstreamProperties.getUpstreams().get(serviceId);
+        if (Objects.isNull(upstream))
+            return Flux.empty();
+
+        List<URI> instances = upstream.getInstances();
+        return Flux.fromIterable(instances)
+                .map(uri -> new DefaultServiceInstance(
+                        serviceId + "-" + uri.getHost() + ":" + uri.getPort(),
+                        serviceId,
+                        uri.getHost(),
+                        uri.getPort(),
+                        "https".equals(uri.getScheme())));
+    }
+
+    @Override
+    public Flux<String> getServices() {
+        return Flux.fromIterable(upstreamProperties.getUpstreams().keySet());
+    }
+}
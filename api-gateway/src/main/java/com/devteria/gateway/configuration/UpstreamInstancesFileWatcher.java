@@ -0,0 +1,59 @@
+package com.devteria.gateway.configuration;
+
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.context.refresh.ContextRefresher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Objects;
+
+/**
+ * Polls the file imported through spring.config.import for upstream instances and
+ * refreshes the environment when it changes, which rebinds UpstreamProperties.
+ * The load balancer sees the new instances once its instance cache expires.
+ */
+@Slf4j
+@Component
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class UpstreamInstancesFileWatcher {
+    Path instancesFile;
+    ContextRefresher contextRefresher;
+
+    @NonFinal
+    FileTime lastModified;
+
+    public UpstreamInstancesFileWatcher(@Value("${app.http-client.instances-file}") Path instancesFile,
+                                        ContextRefresher contextRefresher) {
+        this.instancesFile = instancesFile;
+        this.contextRefresher = contextRefresher;
+        this.lastModified = lastModified();
+    }
+
+    @Scheduled(fixedDelayString = "${app.http-client.instances-file-poll-interval:5000}")
+    void refreshOnChange() {
+        FileTime current = lastModified();
+        if (Objects.equals(current, lastModified))
+            return;
+
+        lastModified = current;
+        log.info("Upstream instances file {} changed, refreshed keys: {}",
+                instancesFile, contextRefresher.refreshEnvironment());
+    }
+
+    private FileTime lastModified() {
+        try {
+            return Files.exists(instancesFile) ? Files.getLastModifiedTime(instancesFile) : null;
+        } catch (IOException e) {
+            log.warn("Cannot read {}", instancesFile, e);
+            return lastModified;
+        }
+    }
+}
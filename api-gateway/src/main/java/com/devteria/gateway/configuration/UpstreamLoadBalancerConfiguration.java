@@ -0,0 +1,29 @@
+package com.devteria.gateway.configuration;
+
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.env.Environment;
+
+/**
+ * Per-service load balancer beans, registered as the default for every client by
+ * LoadBalancerConfiguration. Deliberately not a @Configuration: it must only be loaded
+ * into each service's child context, where the balancer is also picked up as lifecycle.
+ */
+public class UpstreamLoadBalancerConfiguration {
+
+    @Bean
+    LeastOutstandingRequestsLoadBalancer leastOutstandingRequestsLoadBalancer(
+            Environment environment,
+            LoadBalancerClientFactory loadBalancerClientFactory,
+            InFlightRequestTracker inFlightRequestTracker,
+            UpstreamProperties upstreamProperties) {
+        String serviceId = environment.getProperty(LoadBalancerClientFactory.PROPERTY_NAME);
+
+        return new LeastOutstandingRequestsLoadBalancer(
+                loadBalancerClientFactory.getLazyProvider(serviceId, ServiceInstanceListSupplier.class),
+                inFlightRequestTracker,
+                upstreamProperties.getEjection().getConsecutiveFailures(),
+                upstreamProperties.getEjection().getDuration());
+    }
+}
@@ -0,0 +1,54 @@
+package com.devteria.gateway.configuration;
+
+import lombok.AccessLevel;
+import lombok.Data;
+import lombok.experimental.FieldDefaults;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.http-client")
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class UpstreamProperties {
+    // Offer HTTP/2 cleartext by upgrade, falling back to HTTP/1.1 for upstreams that do not speak it
+    boolean h2c;
+
+    // Used for hosts that are not listed under upstreams
+    Upstream defaults = new Upstream();
+
+    // Keyed by service id, routed to as lb://<service id>
+    Map<String, Upstream> upstreams = new LinkedHashMap<>();
+
+    Ejection ejection = new Ejection();
+
+    @Data
+    @FieldDefaults(level = AccessLevel.PRIVATE)
+    public static class Upstream {
+        List<URI> instances = new ArrayList<>();
+        int maxConnections = 100;
+        // -1 is no limit; past this, requests fail fast instead of queueing
+        int pendingAcquireMaxCount = 200;
+        Duration pendingAcquireTimeout = Duration.ofSeconds(2);
+        Duration maxIdleTime = Duration.ofSeconds(30);
+        Duration maxLifeTime = Duration.ofMinutes(5);
+        // Plain numbers are milliseconds, so routes can reuse them as connect-timeout/response-timeout metadata
+        Duration connectTimeout = Duration.ofSeconds(1);
+        Duration responseTimeout = Duration.ofSeconds(5);
+    }
+
+    @Data
+    @FieldDefaults(level = AccessLevel.PRIVATE)
+    public static class Ejection {
+        // Failed or 5xx calls in a row before an instance stops receiving traffic
+        int consecutiveFailures = 3;
+        Duration duration = Duration.ofSeconds(30);
+    }
+}
@@ -0,0 +1,37 @@
+package com.devteria.gateway.controller;
+
+import com.devteria.gateway.dto.ApiResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.Objects;
+
+/**
+ * Target of the routes' CircuitBreaker fallbackUri: answers straight away with 503 when
+ * the circuit is open, the bulkhead is full or the upstream call failed.
+ */
+@Slf4j
+@RestController
+public class FallbackController {
+
+    @RequestMapping("/fallback")
+    Mono<ResponseEntity<ApiResponse<?>>> fallback(ServerWebExchange exchange) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        Throwable cause = exchange.getAttribute(ServerWebExchangeUtils.CIRCUITBREAKER_EXECUTION_EXCEPTION_ATTR);
+        log.debug("Fallback for route {}: {}", Objects.nonNull(route) ? route.getId() : "-", String.valueOf(cause));
+
+        ApiResponse<?> apiResponse = ApiResponse.builder()
+                .code(1503)
+                .message("Service is temporarily unavailable")
+                .build();
+
+        return Mono.just(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(apiResponse));
+    }
+}
@@ -0,0 +1,27 @@
+package com.devteria.gateway.controller;
+
+import com.devteria.event.dto.TokenInvalidatedEvent;
+import com.devteria.gateway.service.IntrospectCache;
+import com.devteria.gateway.service.RevokedTokenStore;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class TokenEventController {
+    RevokedTokenStore revokedTokenStore;
+    IntrospectCache introspectCache;
+
+    @KafkaListener(topics = "token-invalidated")
+    public void listenTokenInvalidated(TokenInvalidatedEvent event) {
+        log.debug("Token invalidated: {}", event.getId());
+        revokedTokenStore.revoke(event.getId(), event.getExpiryTime());
+        introspectCache.invalidate(event.getId());
+    }
+}
@@ -10,15 +10,25 @@ import lombok.experimental.FieldDefaults;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Mono;
 
+import java.util.Objects;
+
 @Service
 @RequiredArgsConstructor
 @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
 public class IdentityService {
     IdentityClient identityClient;
+    IntrospectCache introspectCache;
 
     public Mono<ApiResponse<IntrospectResponse>> introspect(String token){
+        IntrospectResponse cached = introspectCache.get(token);
+        if (Objects.nonNull(cached))
+            return Mono.just(ApiResponse.<IntrospectResponse>builder()
+                    .result(cached)
+                    .build());
+
         return identityClient.introspect(IntrospectRequest.builder()
                         .token(token)
-                .build());
+                .build())
+                .doOnNext(response -> introspectCache.put(token, response.getResult()));
     }
 }
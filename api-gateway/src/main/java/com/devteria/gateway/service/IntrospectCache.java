@@ -0,0 +1,105 @@
+package com.devteria.gateway.service;
+
+import com.devteria.gateway.dto.response.IntrospectResponse;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Positive introspect results keyed by token id. An entry lives until the token
+ * expires (capped by max-ttl), is evicted on size pressure, and is dropped as soon
+ * as identity-service publishes the token as invalidated.
+ */
+@Component
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class IntrospectCache {
+    Cache<String, CachedIntrospection> cache;
+    RevokedTokenStore revokedTokenStore;
+    long maxTtlNanos;
+
+    public IntrospectCache(@Value("${app.auth.introspect-cache.maximum-size:100000}") long maximumSize,
+                           @Value("${app.auth.introspect-cache.max-ttl:5m}") Duration maxTtl,
+                           RevokedTokenStore revokedTokenStore) {
+        this.revokedTokenStore = revokedTokenStore;
+        this.maxTtlNanos = maxTtl.toNanos();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new TokenExpiry())
+                .build();
+    }
+
+    public IntrospectResponse get(String token) {
+        TokenKey key = TokenKey.of(token);
+        if (Objects.isNull(key) || revokedTokenStore.isRevoked(key.id()))
+            return null;
+
+        CachedIntrospection cached = cache.getIfPresent(key.id());
+
+        // Same id with a different token string is not the token we introspected
+        if (Objects.isNull(cached) || !cached.token().equals(token))
+            return null;
+
+        return cached.response();
+    }
+
+    public void put(String token, IntrospectResponse response) {
+        if (Objects.isNull(response) || !response.isValid())
+            return;
+
+        TokenKey key = TokenKey.of(token);
+        if (Objects.isNull(key) || revokedTokenStore.isRevoked(key.id()))
+            return;
+
+        cache.put(key.id(), new CachedIntrospection(token, response, key.expiryTime()));
+    }
+
+    public void invalidate(String id) {
+        if (Objects.nonNull(id))
+            cache.invalidate(id);
+    }
+
+    private record CachedIntrospection(String token, IntrospectResponse response, long expiryTime) {}
+
+    private record TokenKey(String id, long expiryTime) {
+        static TokenKey of(String token) {
+            try {
+                JWTClaimsSet claims = SignedJWT.parse(token).getJWTClaimsSet();
+                if (Objects.isNull(claims.getJWTID()) || Objects.isNull(claims.getExpirationTime()))
+                    return null;
+
+                return new TokenKey(claims.getJWTID(), claims.getExpirationTime().getTime());
+            } catch (ParseException e) {
+                return null;
+            }
+        }
+    }
+
+    private class TokenExpiry implements Expiry<String, CachedIntrospection> {
+        @Override
+        public long expireAfterCreate(String key, CachedIntrospection value, long currentTime) {
+            long untilExpiry = TimeUnit.MILLISECONDS.toNanos(value.expiryTime() - System.currentTimeMillis());
+            return Math.max(0, Math.min(untilExpiry, maxTtlNanos));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, CachedIntrospection value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, CachedIntrospection value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.devteria.gateway.service;
+
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Ids of tokens that were logged out or refreshed before their expiry, fed by the
+ * token-invalidated events published by identity-service. Entries are dropped once
+ * the token would have expired anyway.
+ */
+@Slf4j
+@Component
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class RevokedTokenStore {
+    Map<String, Long> revokedTokens = new ConcurrentHashMap<>();
+
+    public void revoke(String id, Date expiryTime) {
+        if (Objects.isNull(id) || Objects.isNull(expiryTime)
+                || expiryTime.getTime() <= System.currentTimeMillis())
+            return;
+
+        revokedTokens.put(id, expiryTime.getTime());
+    }
+
+    public boolean isRevoked(String id) {
+        return Objects.nonNull(id) && revokedTokens.containsKey(id);
+    }
+
+    @Scheduled(fixedDelayString = "${app.auth.revoked-token-cleanup-interval:60000}")
+    void removeExpired() {
+        long now = System.currentTimeMillis();
+        revokedTokens.values().removeIf(expiryTime -> expiryTime <= now);
+        log.debug("Revoked tokens tracked: {}", revokedTokens.size());
+    }
+}
@@ -0,0 +1,87 @@
+package com.devteria.gateway.service;
+
+import com.devteria.gateway.configuration.JwtProperties;
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSVerifier;
+import com.nimbusds.jose.crypto.MACVerifier;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import java.text.ParseException;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Verifies access tokens issued by identity-service without calling it: HS512
+ * signature (by key id, like identity-service), expiry and the locally tracked
+ * revocations.
+ */
+@Service
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class TokenVerificationService {
+    JWSVerifier activeVerifier;
+    Map<String, JWSVerifier> verifiers;
+    RevokedTokenStore revokedTokenStore;
+
+    public TokenVerificationService(JwtProperties jwtProperties,
+                                    RevokedTokenStore revokedTokenStore) throws JOSEException {
+        this.activeVerifier = new MACVerifier(jwtProperties.getSignerKey().getBytes());
+
+        Map<String, JWSVerifier> verifiersByKeyId = new HashMap<>();
+        for (var previousKey : jwtProperties.getPreviousKeys().entrySet())
+            verifiersByKeyId.put(previousKey.getKey(), new MACVerifier(previousKey.getValue().getBytes()));
+        if (StringUtils.hasText(jwtProperties.getKeyId()))
+            verifiersByKeyId.put(jwtProperties.getKeyId(), activeVerifier);
+
+        this.verifiers = Map.copyOf(verifiersByKeyId);
+        this.revokedTokenStore = revokedTokenStore;
+    }
+
+    public boolean verify(String token) {
+        return verifiedClaims(token).isPresent();
+    }
+
+    // Claims of a valid token, empty when the token is not valid
+    public Optional<JWTClaimsSet> verifiedClaims(String token) {
+        try {
+            SignedJWT signedJWT = SignedJWT.parse(token);
+
+            if (!JWSAlgorithm.HS512.equals(signedJWT.getHeader().getAlgorithm()))
+                return Optional.empty();
+
+            String keyId = signedJWT.getHeader().getKeyID();
+            JWSVerifier verifier = Objects.isNull(keyId) ? activeVerifier : verifiers.get(keyId);
+            if (Objects.isNull(verifier) || !signedJWT.verify(verifier))
+                return Optional.empty();
+
+            JWTClaimsSet claims = signedJWT.getJWTClaimsSet();
+            Date expiryTime = claims.getExpirationTime();
+
+            if (Objects.isNull(expiryTime) || !expiryTime.after(new Date()))
+                return Optional.empty();
+
+            return revokedTokenStore.isRevoked(claims.getJWTID())
+                    ? Optional.empty()
+                    : Optional.of(claims);
+        } catch (ParseException | JOSEException e) {
+            return Optional.empty();
+        }
+    }
+
+    // Subject without any checks, for tokens identity-service has already introspected
+    public Optional<String> subjectOf(String token) {
+        try {
+            return Optional.ofNullable(SignedJWT.parse(token).getJWTClaimsSet().getSubject());
+        } catch (ParseException e) {
+            return Optional.empty();
+        }
+    }
+}
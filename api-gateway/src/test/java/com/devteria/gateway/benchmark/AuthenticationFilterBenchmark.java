@@ -0,0 +1,132 @@
+package com.devteria.gateway.benchmark;
+
+import com.devteria.gateway.configuration.AuthenticationFilter;
+import com.devteria.gateway.configuration.JwtProperties;
+import com.devteria.gateway.configuration.PublicEndpointMatcher;
+import com.devteria.gateway.configuration.PublicEndpointProperties;
+import com.devteria.gateway.service.RevokedTokenStore;
+import com.devteria.gateway.service.TokenVerificationService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nimbusds.jose.*;
+import com.nimbusds.jose.crypto.MACSigner;
+import com.nimbusds.jwt.JWTClaimsSet;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Gateway work per request before routing: the old String.matches loop over the public
+ * endpoints against the precompiled matcher, and the whole AuthenticationFilter for a
+ * public and for an authenticated request (local verification, no upstream call).
+ * Run main() from the IDE, or add -prof gc to the options to see allocation rates.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AuthenticationFilterBenchmark {
+    private static final String SIGNER_KEY = "1TjXchw5FloESb63Kc+DFhTARvpWL4jUGCwfGWxuG5SIf/1y/LgJxHnMqaF6A/ij";
+    private static final String API_PREFIX = "/api/v1";
+    private static final String[] LEGACY_PUBLIC_ENDPOINTS = {
+            "/identity/auth/.*",
+            "/identity/users/registration",
+            "/notification/email/send",
+            "/file/media/download/.*"
+    };
+    private static final GatewayFilterChain CHAIN = exchange -> Mono.empty();
+
+    private PublicEndpointMatcher publicEndpointMatcher;
+    private AuthenticationFilter authenticationFilter;
+    private String token;
+
+    @Param({"/api/v1/file/media/download/avatar.png", "/api/v1/post/my-posts"})
+    public String path;
+
+    @Setup
+    public void setup() throws JOSEException {
+        PublicEndpointProperties properties = new PublicEndpointProperties();
+        properties.setPublicEndpoints(List.of(
+                endpoint("/identity/auth/.*", "POST"),
+                endpoint("/identity/users/registration", "POST"),
+                endpoint("/notification/email/send", "POST"),
+                endpoint("/file/media/download/.*", "GET")));
+        publicEndpointMatcher = new PublicEndpointMatcher(properties, API_PREFIX);
+
+        JwtProperties jwtProperties = new JwtProperties();
+        jwtProperties.setSignerKey(SIGNER_KEY);
+        jwtProperties.setKeyId("bookteria-1");
+        TokenVerificationService tokenVerificationService =
+                new TokenVerificationService(jwtProperties, new RevokedTokenStore());
+
+        authenticationFilter = new AuthenticationFilter(
+                null, tokenVerificationService, new ObjectMapper(), publicEndpointMatcher);
+        ReflectionTestUtils.setField(authenticationFilter, "localVerification", true);
+
+        JWTClaimsSet claims = new JWTClaimsSet.Builder()
+                .subject(UUID.randomUUID().toString())
+                .issuer("devteria.com")
+                .issueTime(new Date())
+                .expirationTime(Date.from(Instant.now().plus(1, ChronoUnit.HOURS)))
+                .jwtID(UUID.randomUUID().toString())
+                .claim("scope", "ROLE_USER")
+                .build();
+        JWSObject jwsObject = new JWSObject(
+                new JWSHeader.Builder(JWSAlgorithm.HS512).keyID("bookteria-1").build(),
+                new Payload(claims.toJSONObject()));
+        jwsObject.sign(new MACSigner(SIGNER_KEY.getBytes()));
+        token = jwsObject.serialize();
+    }
+
+    @Benchmark
+    public boolean legacyPublicEndpointCheck() {
+        return Arrays.stream(LEGACY_PUBLIC_ENDPOINTS)
+                .anyMatch(s -> path.matches(API_PREFIX + s));
+    }
+
+    @Benchmark
+    public boolean compiledPublicEndpointCheck() {
+        return publicEndpointMatcher.matches(HttpMethod.GET, path);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public Void filter() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get(path)
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token));
+
+        return authenticationFilter.filter(exchange, CHAIN).block();
+    }
+
+    private static PublicEndpointProperties.PublicEndpoint endpoint(String path, String method) {
+        PublicEndpointProperties.PublicEndpoint endpoint = new PublicEndpointProperties.PublicEndpoint();
+        endpoint.setPath(path);
+        endpoint.setMethods(Set.of(method));
+        return endpoint;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                        .include(AuthenticationFilterBenchmark.class.getSimpleName())
+                        .build())
+                .run();
+    }
+}
@@ -0,0 +1,176 @@
+package com.devteria.gateway.configuration;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.http.server.reactive.MockServerHttpResponse;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+class ETagFilterTest {
+    static final String PATH = "/api/v1/post/my-posts";
+    static final String BODY = "{\"result\":[{\"id\":\"1\"}]}";
+
+    ETagFilter filter = new ETagFilter(properties(), "/api/v1");
+
+    @Test
+    void filter_jsonOk_addsWeakETagAndPrivateCacheControl() {
+        MockServerHttpResponse response = get(MockServerHttpRequest.get(PATH), upstream(HttpStatus.OK, headers -> {
+        }));
+
+        Assertions.assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        Assertions.assertThat(response.getHeaders().getETag()).matches("W/\"[0-9a-f]{32}\"");
+        Assertions.assertThat(response.getHeaders().getCacheControl()).isEqualTo("private, no-cache");
+        Assertions.assertThat(response.getBodyAsString().block()).isEqualTo(BODY);
+    }
+
+    @Test
+    void filter_sameBody_sameETag() {
+        Assertions.assertThat(currentETag()).isEqualTo(currentETag());
+    }
+
+    @Test
+    void filter_ifNoneMatchesCurrent_answers304WithoutBody() {
+        MockServerHttpResponse response = get(MockServerHttpRequest.get(PATH).ifNoneMatch(currentETag()),
+                upstream(HttpStatus.OK, headers -> {
+                }));
+
+        Assertions.assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        Assertions.assertThat(response.getHeaders().getETag()).isEqualTo(currentETag());
+        Assertions.assertThat(response.getHeaders())
+                .doesNotContainKeys(HttpHeaders.CONTENT_LENGTH, HttpHeaders.CONTENT_TYPE);
+        Assertions.assertThat(response.getBodyAsString().block()).isNullOrEmpty();
+    }
+
+    @Test
+    void filter_ifNoneMatchStrongFormOfCurrent_matchesWeakly() {
+        String strong = currentETag().substring(2);
+
+        MockServerHttpResponse response = get(MockServerHttpRequest.get(PATH).ifNoneMatch("\"other\"", strong),
+                upstream(HttpStatus.OK, headers -> {
+                }));
+
+        Assertions.assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+    }
+
+    @Test
+    void filter_ifNoneMatchStar_answers304() {
+        MockServerHttpResponse response = get(MockServerHttpRequest.get(PATH).ifNoneMatch("*"),
+                upstream(HttpStatus.OK, headers -> {
+                }));
+
+        Assertions.assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+    }
+
+    @Test
+    void filter_ifNoneMatchesOldVersion_answersFullBody() {
+        MockServerHttpResponse response = get(MockServerHttpRequest.get(PATH).ifNoneMatch("W/\"0123\""),
+                upstream(HttpStatus.OK, headers -> {
+                }));
+
+        Assertions.assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        Assertions.assertThat(response.getBodyAsString().block()).isEqualTo(BODY);
+    }
+
+    @Test
+    void filter_malformedIfNoneMatch_answersFullBody() {
+        MockServerHttpResponse response = get(MockServerHttpRequest.get(PATH).header(HttpHeaders.IF_NONE_MATCH, "W/"),
+                upstream(HttpStatus.OK, headers -> {
+                }));
+
+        Assertions.assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        Assertions.assertThat(response.getHeaders().getETag()).isNotNull();
+    }
+
+    @Test
+    void filter_notOk_passedThrough() {
+        MockServerHttpResponse response = get(MockServerHttpRequest.get(PATH).ifNoneMatch("*"),
+                upstream(HttpStatus.NOT_FOUND, headers -> {
+                }));
+
+        Assertions.assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+        Assertions.assertThat(response.getHeaders().getETag()).isNull();
+        Assertions.assertThat(response.getBodyAsString().block()).isEqualTo(BODY);
+    }
+
+    @Test
+    void filter_notJson_passedThrough() {
+        MockServerHttpResponse response = get(MockServerHttpRequest.get(PATH).ifNoneMatch("*"),
+                upstream(HttpStatus.OK, headers -> headers.setContentType(MediaType.TEXT_PLAIN)));
+
+        Assertions.assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        Assertions.assertThat(response.getHeaders().getETag()).isNull();
+    }
+
+    @Test
+    void filter_upstreamETag_keptAndNotCompared() {
+        MockServerHttpResponse response = get(MockServerHttpRequest.get(PATH).ifNoneMatch("\"v1\""),
+                upstream(HttpStatus.OK, headers -> headers.setETag("\"v1\"")));
+
+        Assertions.assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        Assertions.assertThat(response.getHeaders().getETag()).isEqualTo("\"v1\"");
+        Assertions.assertThat(response.getBodyAsString().block()).isEqualTo(BODY);
+    }
+
+    @Test
+    void filter_upstreamCacheControl_kept() {
+        MockServerHttpResponse response = get(MockServerHttpRequest.get(PATH),
+                upstream(HttpStatus.OK, headers -> headers.setCacheControl("no-store")));
+
+        Assertions.assertThat(response.getHeaders().getETag()).isNotNull();
+        Assertions.assertThat(response.getHeaders().getCacheControl()).isEqualTo("no-store");
+    }
+
+    @Test
+    void filter_pathNotConfiguredOrNotGet_passedThrough() {
+        MockServerHttpResponse otherPath = get(MockServerHttpRequest.get("/api/v1/post/other"),
+                upstream(HttpStatus.OK, headers -> {
+                }));
+        MockServerHttpResponse post = get(MockServerHttpRequest.post(PATH),
+                upstream(HttpStatus.OK, headers -> {
+                }));
+
+        Assertions.assertThat(otherPath.getHeaders().getETag()).isNull();
+        Assertions.assertThat(post.getHeaders().getETag()).isNull();
+    }
+
+    private String currentETag() {
+        return get(MockServerHttpRequest.get(PATH), upstream(HttpStatus.OK, headers -> {
+        })).getHeaders().getETag();
+    }
+
+    private MockServerHttpResponse get(MockServerHttpRequest.BaseBuilder<?> request, GatewayFilterChain chain) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(request);
+        filter.filter(exchange, chain).block();
+
+        return exchange.getResponse();
+    }
+
+    // Writes BODY as JSON, like the routing filter writing the upstream response
+    private static GatewayFilterChain upstream(HttpStatus status, Consumer<HttpHeaders> customizer) {
+        return exchange -> {
+            ServerHttpResponse response = exchange.getResponse();
+            byte[] body = BODY.getBytes(StandardCharsets.UTF_8);
+            response.setStatusCode(status);
+            response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+            response.getHeaders().setContentLength(body.length);
+            customizer.accept(response.getHeaders());
+
+            return response.writeWith(Mono.just(response.bufferFactory().wrap(body)));
+        };
+    }
+
+    private static ETagProperties properties() {
+        ETagProperties properties = new ETagProperties();
+        properties.getPaths().add("/post/my-posts");
+        return properties;
+    }
+}
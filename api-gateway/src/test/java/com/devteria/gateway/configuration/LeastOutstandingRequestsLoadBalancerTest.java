@@ -0,0 +1,143 @@
+package com.devteria.gateway.configuration;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.CompletionContext;
+import org.springframework.cloud.client.loadbalancer.DefaultRequest;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.RequestDataContext;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpMethod;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+
+class LeastOutstandingRequestsLoadBalancerTest {
+    static final ServiceInstance FIRST = new DefaultServiceInstance("first", "identity", "10.0.0.1", 8080, false);
+    static final ServiceInstance SECOND = new DefaultServiceInstance("second", "identity", "10.0.0.2", 8080, false);
+
+    InFlightRequestTracker tracker = new InFlightRequestTracker();
+    LeastOutstandingRequestsLoadBalancer loadBalancer = new LeastOutstandingRequestsLoadBalancer(
+            emptyProvider(), tracker, 3, Duration.ofMinutes(1));
+
+    @Test
+    void choose_picksInstanceWithFewestOutstanding() {
+        tracker.statsOf(FIRST).outstanding.set(2);
+        tracker.statsOf(SECOND).outstanding.set(1);
+
+        for (int i = 0; i < 10; i++)
+            Assertions.assertThat(loadBalancer.choose(List.of(FIRST, SECOND)).getServer()).isEqualTo(SECOND);
+    }
+
+    @Test
+    void choose_tiedOnOutstanding_prefersFewerFailures() {
+        fail(FIRST);
+
+        for (int i = 0; i < 10; i++)
+            Assertions.assertThat(loadBalancer.choose(List.of(FIRST, SECOND)).getServer()).isEqualTo(SECOND);
+    }
+
+    @Test
+    void onComplete_failuresReachThreshold_ejectsInstance() {
+        fail(FIRST);
+        fail(FIRST);
+        Assertions.assertThat(tracker.statsOf(FIRST).isEjected(System.nanoTime())).isFalse();
+
+        fail(FIRST);
+
+        Assertions.assertThat(tracker.statsOf(FIRST).isEjected(System.nanoTime())).isTrue();
+        // Even with more requests in flight, the healthy instance is the only candidate
+        tracker.statsOf(SECOND).outstanding.set(5);
+        for (int i = 0; i < 10; i++)
+            Assertions.assertThat(loadBalancer.choose(List.of(FIRST, SECOND)).getServer()).isEqualTo(SECOND);
+    }
+
+    @Test
+    void onComplete_successBeforeThreshold_resetsFailures() {
+        fail(FIRST);
+        fail(FIRST);
+        complete(FIRST, CompletionContext.Status.SUCCESS, null);
+        fail(FIRST);
+
+        Assertions.assertThat(tracker.statsOf(FIRST).isEjected(System.nanoTime())).isFalse();
+    }
+
+    @Test
+    void choose_everyInstanceEjected_usesThemAll() {
+        for (int i = 0; i < 3; i++) {
+            fail(FIRST);
+            fail(SECOND);
+        }
+
+        Assertions.assertThat(loadBalancer.choose(List.of(FIRST, SECOND)).hasServer()).isTrue();
+    }
+
+    @Test
+    void webClientFilter_cancelledRequest_releasesOutstanding() {
+        ClientRequest request = ClientRequest.create(HttpMethod.GET, URI.create("http://10.0.0.1:8080/identity/users"))
+                .build();
+
+        Disposable call = tracker.filter(request, ignored -> Mono.never()).subscribe();
+        Assertions.assertThat(tracker.statsOf(FIRST).outstanding.get()).isEqualTo(1);
+
+        call.dispose();
+        Assertions.assertThat(tracker.statsOf(FIRST).outstanding.get()).isZero();
+    }
+
+    @Test
+    void globalFilter_cancelledRequest_releasesOutstanding() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/identity/users"));
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_LOADBALANCER_RESPONSE_ATTR,
+                new DefaultResponse(FIRST));
+
+        Disposable call = tracker.filter(exchange, ignored -> Mono.never()).subscribe();
+        Assertions.assertThat(tracker.statsOf(FIRST).outstanding.get()).isEqualTo(1);
+
+        call.dispose();
+        Assertions.assertThat(tracker.statsOf(FIRST).outstanding.get()).isZero();
+    }
+
+    private void fail(ServiceInstance instance) {
+        complete(instance, CompletionContext.Status.FAILED, new IOException("Connection refused"));
+    }
+
+    private void complete(ServiceInstance instance, CompletionContext.Status status, Throwable throwable) {
+        loadBalancer.onComplete(new CompletionContext<>(status, throwable,
+                new DefaultRequest<>(new RequestDataContext()), new DefaultResponse(instance)));
+    }
+
+    private static ObjectProvider<ServiceInstanceListSupplier> emptyProvider() {
+        return new ObjectProvider<>() {
+            @Override
+            public ServiceInstanceListSupplier getObject(Object... args) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public ServiceInstanceListSupplier getIfAvailable() {
+                return null;
+            }
+
+            @Override
+            public ServiceInstanceListSupplier getIfUnique() {
+                return null;
+            }
+
+            @Override
+            public ServiceInstanceListSupplier getObject() {
+                throw new UnsupportedOperationException();
+            }
+        };
+    }
+}
@@ -0,0 +1,143 @@
+package com.devteria.gateway.configuration;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.cloud.gateway.filter.ratelimit.RateLimiter;
+
+import java.util.Map;
+
+class LocalTokenBucketRateLimiterTest {
+    static final long SECOND = 1_000_000_000L;
+
+    @Test
+    void tryConsume_fullBucket_allowsBurstThenDenies() {
+        // 1 token per second, 3 tokens of capacity
+        LocalTokenBucketRateLimiter.TokenBucket bucket = new LocalTokenBucketRateLimiter.TokenBucket(0);
+
+        Assertions.assertThat(bucket.tryConsume(0, SECOND, 3 * SECOND)).isEqualTo(SECOND);
+        Assertions.assertThat(bucket.tryConsume(0, SECOND, 3 * SECOND)).isEqualTo(2 * SECOND);
+        Assertions.assertThat(bucket.tryConsume(0, SECOND, 3 * SECOND)).isEqualTo(3 * SECOND);
+        // Fits again once one token came back, in one second
+        Assertions.assertThat(bucket.tryConsume(0, SECOND, 3 * SECOND)).isEqualTo(-SECOND);
+        Assertions.assertThat(bucket.fullInNanos(0)).isEqualTo(3 * SECOND);
+    }
+
+    @Test
+    void tryConsume_afterWaiting_replenishesAtRate() {
+        LocalTokenBucketRateLimiter.TokenBucket bucket = new LocalTokenBucketRateLimiter.TokenBucket(0);
+        for (int i = 0; i < 3; i++)
+            bucket.tryConsume(0, SECOND, 3 * SECOND);
+
+        // Half a second later there is still no whole token
+        Assertions.assertThat(bucket.tryConsume(SECOND / 2, SECOND, 3 * SECOND)).isEqualTo(-SECOND / 2);
+        Assertions.assertThat(bucket.tryConsume(SECOND, SECOND, 3 * SECOND)).isEqualTo(3 * SECOND);
+    }
+
+    @Test
+    void tryConsume_idleLongerThanRefill_doesNotSaveUpMoreThanCapacity() {
+        LocalTokenBucketRateLimiter.TokenBucket bucket = new LocalTokenBucketRateLimiter.TokenBucket(0);
+
+        long now = 60 * SECOND;
+        for (int i = 0; i < 3; i++)
+            Assertions.assertThat(bucket.tryConsume(now, SECOND, 3 * SECOND)).isPositive();
+        Assertions.assertThat(bucket.tryConsume(now, SECOND, 3 * SECOND)).isNegative();
+    }
+
+    @Test
+    void tryConsume_costAboveCapacity_neverAllowed() {
+        LocalTokenBucketRateLimiter.TokenBucket bucket = new LocalTokenBucketRateLimiter.TokenBucket(0);
+
+        Assertions.assertThat(bucket.tryConsume(0, 4 * SECOND, 3 * SECOND)).isEqualTo(-SECOND);
+        Assertions.assertThat(bucket.fullInNanos(0)).isZero();
+    }
+
+    @Test
+    void isAllowed_untilBurstUsed_reportsRemainingAndReset() {
+        LocalTokenBucketRateLimiter rateLimiter = rateLimiter(1, 2);
+
+        Map<String, String> first = isAllowed(rateLimiter, true);
+        Assertions.assertThat(first)
+                .containsEntry(LocalTokenBucketRateLimiter.LIMIT_HEADER, "2")
+                .containsEntry(LocalTokenBucketRateLimiter.REMAINING_HEADER, "1")
+                .containsEntry(LocalTokenBucketRateLimiter.RESET_HEADER, "1")
+                .doesNotContainKey(LocalTokenBucketRateLimiter.RETRY_AFTER_HEADER);
+
+        Map<String, String> second = isAllowed(rateLimiter, true);
+        Assertions.assertThat(second)
+                .containsEntry(LocalTokenBucketRateLimiter.REMAINING_HEADER, "0")
+                .containsEntry(LocalTokenBucketRateLimiter.RESET_HEADER, "2");
+    }
+
+    @Test
+    void isAllowed_burstUsed_deniedWithRetryAfter() {
+        LocalTokenBucketRateLimiter rateLimiter = rateLimiter(1, 2);
+        isAllowed(rateLimiter, true);
+        isAllowed(rateLimiter, true);
+
+        Map<String, String> denied = isAllowed(rateLimiter, false);
+
+        Assertions.assertThat(denied)
+                .containsEntry(LocalTokenBucketRateLimiter.REMAINING_HEADER, "0")
+                .containsEntry(LocalTokenBucketRateLimiter.RESET_HEADER, "2")
+                .containsEntry(LocalTokenBucketRateLimiter.RETRY_AFTER_HEADER, "1");
+    }
+
+    @Test
+    void isAllowed_otherKey_hasOwnBucket() {
+        LocalTokenBucketRateLimiter rateLimiter = rateLimiter(1, 1);
+        isAllowed(rateLimiter, true);
+
+        RateLimiter.Response response = rateLimiter.isAllowed("identity_service", "user:other").block();
+
+        Assertions.assertThat(response.isAllowed()).isTrue();
+    }
+
+    @Test
+    void bind_zeroReplenishRate_failsStartup() {
+        contextRunner()
+                .withPropertyValues("app.rate-limit.defaults.replenish-rate=0")
+                .run(context -> Assertions.assertThat(context).hasFailed());
+    }
+
+    @Test
+    void bind_replenishRateAboveOnePerNanosecond_failsStartup() {
+        contextRunner()
+                .withPropertyValues("app.rate-limit.routes.chat_service.replenish-rate=1000000001")
+                .run(context -> Assertions.assertThat(context).hasFailed());
+    }
+
+    @Test
+    void bind_validLimits_starts() {
+        contextRunner()
+                .withPropertyValues(
+                        "app.rate-limit.defaults.replenish-rate=1000000000",
+                        "app.rate-limit.routes.chat_service.replenish-rate=10",
+                        "app.rate-limit.routes.chat_service.burst-capacity=20")
+                .run(context -> Assertions.assertThat(context).hasNotFailed());
+    }
+
+    private static ApplicationContextRunner contextRunner() {
+        return new ApplicationContextRunner().withUserConfiguration(PropertiesConfiguration.class);
+    }
+
+    private static LocalTokenBucketRateLimiter rateLimiter(int replenishRate, int burstCapacity) {
+        RateLimitProperties rateLimitProperties = new RateLimitProperties();
+        rateLimitProperties.getDefaults().setReplenishRate(replenishRate);
+        rateLimitProperties.getDefaults().setBurstCapacity(burstCapacity);
+
+        return new LocalTokenBucketRateLimiter(rateLimitProperties, null);
+    }
+
+    private static Map<String, String> isAllowed(LocalTokenBucketRateLimiter rateLimiter, boolean expected) {
+        RateLimiter.Response response = rateLimiter.isAllowed("identity_service", "user:alice").block();
+
+        Assertions.assertThat(response.isAllowed()).isEqualTo(expected);
+        return response.getHeaders();
+    }
+
+    @EnableConfigurationProperties(RateLimitProperties.class)
+    static class PropertiesConfiguration {
+    }
+}
@@ -0,0 +1,83 @@
+package com.devteria.gateway.configuration;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+
+import java.util.List;
+import java.util.Set;
+
+class PublicEndpointMatcherTest {
+    static final String PREFIX = "/api/v1";
+
+    PublicEndpointMatcher matcher = new PublicEndpointMatcher(properties(
+            endpoint("/identity/auth/.*", "POST"),
+            endpoint("/identity/users/registration", "post"),
+            endpoint("/file/media/download/.*", "GET"),
+            endpoint("/health")), PREFIX);
+
+    @Test
+    void matches_ruleWithMethods_onlyThoseMethods() {
+        Assertions.assertThat(matcher.matches(HttpMethod.POST, "/api/v1/identity/auth/token")).isTrue();
+        Assertions.assertThat(matcher.matches(HttpMethod.GET, "/api/v1/identity/auth/token")).isFalse();
+        Assertions.assertThat(matcher.matches(HttpMethod.DELETE, "/api/v1/identity/auth/token")).isFalse();
+        Assertions.assertThat(matcher.matches(HttpMethod.GET, "/api/v1/file/media/download/a.png")).isTrue();
+        Assertions.assertThat(matcher.matches(HttpMethod.POST, "/api/v1/file/media/download/a.png")).isFalse();
+    }
+
+    @Test
+    void matches_methodNamesInConfig_caseInsensitive() {
+        Assertions.assertThat(matcher.matches(HttpMethod.POST, "/api/v1/identity/users/registration")).isTrue();
+    }
+
+    @Test
+    void matches_ruleWithoutMethods_anyMethod() {
+        Assertions.assertThat(matcher.matches(HttpMethod.GET, "/api/v1/health")).isTrue();
+        Assertions.assertThat(matcher.matches(HttpMethod.DELETE, "/api/v1/health")).isTrue();
+        Assertions.assertThat(matcher.matches(HttpMethod.valueOf("PROPFIND"), "/api/v1/health")).isTrue();
+    }
+
+    @Test
+    void matches_nonStandardMethod_ignoresRulesWithMethods() {
+        Assertions.assertThat(matcher.matches(HttpMethod.valueOf("PROPFIND"), "/api/v1/identity/auth/token")).isFalse();
+    }
+
+    @Test
+    void matches_anchoredToPrefixAndWholePath() {
+        // Without the prefix, under another prefix, or with a suffix, the path is not public
+        Assertions.assertThat(matcher.matches(HttpMethod.POST, "/identity/auth/token")).isFalse();
+        Assertions.assertThat(matcher.matches(HttpMethod.POST, "/other/api/v1/identity/auth/token")).isFalse();
+        Assertions.assertThat(matcher.matches(HttpMethod.POST, "/api/v1/identity/users/registration/x")).isFalse();
+        Assertions.assertThat(matcher.matches(HttpMethod.POST, "/api/v1/identity/users/1")).isFalse();
+        Assertions.assertThat(matcher.matches(HttpMethod.GET, "/api/v2/health")).isFalse();
+    }
+
+    @Test
+    void matches_prefixTakenLiterally() {
+        PublicEndpointMatcher dotted = new PublicEndpointMatcher(properties(endpoint("/health")), "/api.v1");
+
+        Assertions.assertThat(dotted.matches(HttpMethod.GET, "/api.v1/health")).isTrue();
+        Assertions.assertThat(dotted.matches(HttpMethod.GET, "/apixv1/health")).isFalse();
+    }
+
+    @Test
+    void matches_noEndpoints_nothingPublic() {
+        PublicEndpointMatcher empty = new PublicEndpointMatcher(properties(), PREFIX);
+
+        Assertions.assertThat(empty.matches(HttpMethod.GET, "/api/v1/health")).isFalse();
+        Assertions.assertThat(empty.matches(HttpMethod.valueOf("PROPFIND"), "/api/v1/health")).isFalse();
+    }
+
+    private static PublicEndpointProperties properties(PublicEndpointProperties.PublicEndpoint... endpoints) {
+        PublicEndpointProperties properties = new PublicEndpointProperties();
+        properties.getPublicEndpoints().addAll(List.of(endpoints));
+        return properties;
+    }
+
+    private static PublicEndpointProperties.PublicEndpoint endpoint(String path, String... methods) {
+        PublicEndpointProperties.PublicEndpoint endpoint = new PublicEndpointProperties.PublicEndpoint();
+        endpoint.setPath(path);
+        endpoint.setMethods(Set.of(methods));
+        return endpoint;
+    }
+}
@@ -0,0 +1,59 @@
+package com.devteria.gateway.configuration;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.cloud.gateway.filter.ratelimit.RedisRateLimiter;
+import org.springframework.cloud.gateway.route.RouteDefinitionRouteLocator;
+
+import java.util.Map;
+
+class RedisRateLimiterConfigurerTest {
+
+    @Test
+    void redisBackend_withoutRedisOnClasspath_failsStartup() {
+        new ApplicationContextRunner()
+                .withBean(RateLimitProperties.class)
+                .withUserConfiguration(RedisRateLimiterConfigurer.class)
+                .withPropertyValues("app.rate-limit.backend=redis")
+                .run(context -> Assertions.assertThat(context).getFailure()
+                        .rootCause()
+                        .hasMessageContaining("-Predis"));
+    }
+
+    @Test
+    void localBackend_configurerNotCreated() {
+        new ApplicationContextRunner()
+                .withBean(RateLimitProperties.class)
+                .withUserConfiguration(RedisRateLimiterConfigurer.class)
+                .run(context -> Assertions.assertThat(context).doesNotHaveBean(RedisRateLimiterConfigurer.class));
+    }
+
+    @Test
+    void configure_copiesDefaultsAndRoutesWithoutOverridingRouteArgs() {
+        RateLimitProperties rateLimitProperties = new RateLimitProperties();
+        rateLimitProperties.getDefaults().setReplenishRate(50);
+        rateLimitProperties.getDefaults().setBurstCapacity(100);
+        LocalTokenBucketRateLimiter.Config chat = new LocalTokenBucketRateLimiter.Config();
+        chat.setReplenishRate(10);
+        chat.setBurstCapacity(20);
+        rateLimitProperties.getRoutes().put("chat_service", chat);
+        rateLimitProperties.getRoutes().put("post_service", chat);
+
+        RedisRateLimiter redisRateLimiter = new RedisRateLimiter(1, 1);
+        // As if bound from redis-rate-limiter.* args on the route
+        redisRateLimiter.getConfig().put("post_service", new RedisRateLimiter.Config()
+                .setReplenishRate(5).setBurstCapacity(5).setRequestedTokens(1));
+
+        RedisRateLimiterConfigurer.configure(redisRateLimiter, rateLimitProperties);
+
+        Map<String, RedisRateLimiter.Config> config = redisRateLimiter.getConfig();
+        Assertions.assertThat(config.get(RouteDefinitionRouteLocator.DEFAULT_FILTERS))
+                .extracting(RedisRateLimiter.Config::getReplenishRate, RedisRateLimiter.Config::getBurstCapacity)
+                .containsExactly(50, 100);
+        Assertions.assertThat(config.get("chat_service"))
+                .extracting(RedisRateLimiter.Config::getReplenishRate, RedisRateLimiter.Config::getBurstCapacity)
+                .containsExactly(10, 20);
+        Assertions.assertThat(config.get("post_service").getReplenishRate()).isEqualTo(5);
+    }
+}
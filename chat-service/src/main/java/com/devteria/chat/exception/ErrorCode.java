@@ -16,6 +16,7 @@ public enum ErrorCode {
     UNAUTHORIZED(1007, "You do not have permission", HttpStatus.FORBIDDEN),
     INVALID_DOB(1008, "Your age must be at least {min}", HttpStatus.BAD_REQUEST),
     CONVERSATION_NOT_FOUND(1009, "Chat conversation not found", HttpStatus.NOT_FOUND),
+    PROFILE_SERVICE_UNAVAILABLE(1010, "Profile service is unavailable", HttpStatus.SERVICE_UNAVAILABLE),
 
     ;
 
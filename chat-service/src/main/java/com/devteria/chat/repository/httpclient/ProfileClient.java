@@ -6,7 +6,8 @@ import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 
-@FeignClient(name = "profile-service", url = "${app.services.profile.url}")
+@FeignClient(name = "profile-service", url = "${app.services.profile.url}",
+        fallbackFactory = ProfileClientFallbackFactory.class)
 public interface ProfileClient {
     @GetMapping("/internal/users/{userId}")
     ApiResponse<UserProfileResponse> getProfile(@PathVariable String userId);
@@ -0,0 +1,27 @@
+package com.devteria.chat.repository.httpclient;
+
+import com.devteria.chat.exception.AppException;
+import com.devteria.chat.exception.ErrorCode;
+import feign.FeignException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.openfeign.FallbackFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Called when the call fails or the circuit is open. Client errors from profile-service
+ * pass through unchanged; anything else means it is unavailable.
+ */
+@Slf4j
+@Component
+public class ProfileClientFallbackFactory implements FallbackFactory<ProfileClient> {
+    @Override
+    public ProfileClient create(Throwable cause) {
+        return userId -> {
+            if (cause instanceof FeignException.FeignClientException clientException)
+                throw clientException;
+
+            log.warn("Profile service unavailable, cannot load profile {}: {}", userId, cause.toString());
+            throw new AppException(ErrorCode.PROFILE_SERVICE_UNAVAILABLE);
+        };
+    }
+}
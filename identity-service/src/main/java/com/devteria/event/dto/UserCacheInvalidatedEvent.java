@@ -0,0 +1,19 @@
+package com.devteria.event.dto;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class UserCacheInvalidatedEvent {
+    // Both null means every cached user is stale, e.g. after a role change
+    String userId;
+    String username;
+}
@@ -0,0 +1,25 @@
+package com.devteria.identity.configuration;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.AccessLevel;
+import lombok.Data;
+import lombok.experimental.FieldDefaults;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "jwt")
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class JwtProperties {
+    String signerKey;
+
+    // Written to the kid header of new tokens
+    String keyId;
+
+    // Retired signer keys by key id, still accepted until their tokens can no longer be refreshed
+    Map<String, String> previousKeys = new HashMap<>();
+}
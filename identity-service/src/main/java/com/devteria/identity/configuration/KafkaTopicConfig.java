@@ -0,0 +1,41 @@
+package com.devteria.identity.configuration;
+
+import java.time.Duration;
+
+import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.common.config.TopicConfig;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.TopicBuilder;
+
+@Configuration
+public class KafkaTopicConfig {
+    public static final String TOKEN_INVALIDATED_TOPIC = "token-invalidated";
+    public static final String USER_CREATED_TOPIC = "user-created";
+    public static final String NOTIFICATION_DELIVERY_TOPIC = "notification-delivery";
+    public static final String USER_CACHE_INVALIDATED_TOPIC = "user-cache-invalidated";
+
+    /**
+     * Consumers replay this topic from the beginning on startup, so it only needs to
+     * keep events for as long as an access token can live.
+     */
+    @Bean
+    NewTopic tokenInvalidatedTopic(@Value("${jwt.valid-duration}") long validDuration) {
+        return TopicBuilder.name(TOKEN_INVALIDATED_TOPIC)
+                .partitions(1)
+                .config(TopicConfig.RETENTION_MS_CONFIG, String.valueOf(validDuration * 1000))
+                .build();
+    }
+
+    // Evictions only matter to instances running now, new instances start with an empty cache
+    @Bean
+    @ConditionalOnProperty(value = "app.user-cache.broadcast", havingValue = "true")
+    NewTopic userCacheInvalidatedTopic(@Value("${app.user-cache.expire-after-write:10m}") Duration expireAfterWrite) {
+        return TopicBuilder.name(USER_CACHE_INVALIDATED_TOPIC)
+                .partitions(1)
+                .config(TopicConfig.RETENTION_MS_CONFIG, String.valueOf(expireAfterWrite.toMillis()))
+                .build();
+    }
+}
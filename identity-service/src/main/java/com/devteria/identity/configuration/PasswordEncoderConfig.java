@@ -0,0 +1,67 @@
+package com.devteria.identity.configuration;
+
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Configuration
+public class PasswordEncoderConfig {
+    private static final String BCRYPT = "bcrypt";
+    private static final int MAX_BCRYPT_STRENGTH = 16;
+    private static final String CALIBRATION_PASSWORD = "calibration-password";
+
+    /**
+     * New hashes are written as {bcrypt}... with the configured strength, or with the highest
+     * strength that stays within app.password.target-millis on this machine. Hashes stored
+     * before the {id} prefix was introduced are still matched as plain BCrypt, and
+     * upgradeEncoding reports them (and weaker BCrypt hashes) so login can rehash them.
+     */
+    @Bean
+    PasswordEncoder passwordEncoder(
+            @Value("${app.password.bcrypt-strength:10}") int strength,
+            @Value("${app.password.target-millis:0}") long targetMillis) {
+        int effectiveStrength = targetMillis > 0 ? calibrateStrength(strength, targetMillis) : strength;
+        log.info("Using BCrypt strength {}", effectiveStrength);
+
+        DelegatingPasswordEncoder passwordEncoder =
+                new DelegatingPasswordEncoder(BCRYPT, Map.of(BCRYPT, new BCryptPasswordEncoder(effectiveStrength)));
+        passwordEncoder.setDefaultPasswordEncoderForMatches(new BCryptPasswordEncoder());
+
+        return passwordEncoder;
+    }
+
+    /**
+     * Picks the highest strength, starting at minStrength, whose hash time is within the budget.
+     * Each strength doubles the work, so this stops after a few measurements.
+     */
+    private int calibrateStrength(int minStrength, long targetMillis) {
+        // Warm up the JIT so the first measurement is not inflated
+        new BCryptPasswordEncoder(4).encode(CALIBRATION_PASSWORD);
+
+        int strength = minStrength;
+        while (strength < MAX_BCRYPT_STRENGTH) {
+            long elapsedMillis = measureMillis(strength + 1);
+            log.info("BCrypt strength {} takes {} ms", strength + 1, elapsedMillis);
+
+            if (elapsedMillis > targetMillis) break;
+            strength++;
+        }
+
+        return strength;
+    }
+
+    private long measureMillis(int strength) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(strength);
+        long start = System.nanoTime();
+        encoder.encode(CALIBRATION_PASSWORD);
+        return (System.nanoTime() - start) / 1_000_000;
+    }
+}
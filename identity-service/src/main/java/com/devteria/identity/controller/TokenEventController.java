@@ -0,0 +1,27 @@
+package com.devteria.identity.controller;
+
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+import com.devteria.event.dto.TokenInvalidatedEvent;
+import com.devteria.identity.configuration.KafkaTopicConfig;
+import com.devteria.identity.service.RevokedTokenFilter;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+/**
+ * Keeps the revoked token filter in sync with logouts handled by other identity-service instances.
+ */
+@Component
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class TokenEventController {
+    RevokedTokenFilter revokedTokenFilter;
+
+    @KafkaListener(topics = KafkaTopicConfig.TOKEN_INVALIDATED_TOPIC)
+    public void listenTokenInvalidated(TokenInvalidatedEvent event) {
+        revokedTokenFilter.add(event.getId());
+    }
+}
@@ -0,0 +1,33 @@
+package com.devteria.identity.controller;
+
+import java.util.Objects;
+
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+import com.devteria.event.dto.UserCacheInvalidatedEvent;
+import com.devteria.identity.configuration.KafkaTopicConfig;
+import com.devteria.identity.service.UserResponseCache;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+/**
+ * Applies user cache evictions made by other identity-service instances.
+ */
+@Component
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class UserCacheEventController {
+    UserResponseCache userResponseCache;
+
+    @KafkaListener(
+            topics = KafkaTopicConfig.USER_CACHE_INVALIDATED_TOPIC,
+            autoStartup = "${app.user-cache.broadcast:false}")
+    public void listenUserCacheInvalidated(UserCacheInvalidatedEvent event) {
+        if (Objects.isNull(event.getUserId()) && Objects.isNull(event.getUsername()))
+            userResponseCache.evictAllLocal();
+        else userResponseCache.evictLocal(event.getUserId(), event.getUsername());
+    }
+}
@@ -1,15 +1,23 @@
 package com.devteria.identity.controller;
 
-import java.util.List;
+import java.io.IOException;
+import java.io.InputStream;
 
 import jakarta.validation.Valid;
 
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.devteria.identity.dto.request.ApiResponse;
 import com.devteria.identity.dto.request.UserCreationRequest;
 import com.devteria.identity.dto.request.UserUpdateRequest;
+import com.devteria.identity.dto.response.CursorPageResponse;
+import com.devteria.identity.dto.response.UserImportResponse;
 import com.devteria.identity.dto.response.UserResponse;
+import com.devteria.identity.service.UserImportService;
 import com.devteria.identity.service.UserService;
 
 import lombok.AccessLevel;
@@ -24,6 +32,7 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class UserController {
     UserService userService;
+    UserImportService userImportService;
 
     @PostMapping("/registration")
     ApiResponse<UserResponse> createUser(@RequestBody @Valid UserCreationRequest request) {
@@ -32,13 +41,36 @@ public class UserController {
                 .build();
     }
 
+    @PostMapping(value = "/import", consumes = {"text/csv", "application/x-ndjson"})
+    ApiResponse<UserImportResponse> importUsers(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType, InputStream body) throws IOException {
+        return ApiResponse.<UserImportResponse>builder()
+                .result(userImportService.importUsers(body, contentType))
+                .build();
+    }
+
     @GetMapping
-    ApiResponse<List<UserResponse>> getUsers() {
-        return ApiResponse.<List<UserResponse>>builder()
-                .result(userService.getUsers())
+    ApiResponse<CursorPageResponse<UserResponse>> getUsers(
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", required = false, defaultValue = "20") int size,
+            @RequestParam(value = "role", required = false) String role,
+            @RequestParam(value = "emailVerified", required = false) Boolean emailVerified) {
+        return ApiResponse.<CursorPageResponse<UserResponse>>builder()
+                .result(userService.getUsers(cursor, size, role, emailVerified))
                 .build();
     }
 
+    @GetMapping(value = "/export", produces = "application/x-ndjson")
+    ResponseEntity<StreamingResponseBody> exportUsers(
+            @RequestParam(value = "role", required = false) String role,
+            @RequestParam(value = "emailVerified", required = false) Boolean emailVerified) {
+        StreamingResponseBody body = outputStream -> userService.exportUsers(role, emailVerified, outputStream);
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .body(body);
+    }
+
     @GetMapping("/{userId}")
     ApiResponse<UserResponse> getUser(@PathVariable("userId") String userId) {
         return ApiResponse.<UserResponse>builder()
@@ -0,0 +1,25 @@
+package com.devteria.identity.dto.response;
+
+import java.util.Collections;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CursorPageResponse<T> {
+    int pageSize;
+
+    // Pass back as cursor to read the next page, absent on the last page
+    String nextCursor;
+
+    @Builder.Default
+    List<T> data = Collections.emptyList();
+}
@@ -0,0 +1,18 @@
+package com.devteria.identity.dto.response;
+
+import java.util.List;
+
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class UserImportResponse {
+    int total;
+    int created;
+    int failed;
+    List<UserImportRowResult> rows;
+}
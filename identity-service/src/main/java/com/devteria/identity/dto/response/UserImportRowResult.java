@@ -0,0 +1,21 @@
+package com.devteria.identity.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class UserImportRowResult {
+    int row;
+    String username;
+    String userId;
+    boolean created;
+    Integer code;
+    String message;
+}
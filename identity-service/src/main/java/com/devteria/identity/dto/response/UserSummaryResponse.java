@@ -1,22 +1,16 @@
 package com.devteria.identity.dto.response;
 
-import java.time.LocalDate;
-
 import lombok.*;
 import lombok.experimental.FieldDefaults;
 
 @Data
-@Builder
 @NoArgsConstructor
 @AllArgsConstructor
+@Builder
 @FieldDefaults(level = AccessLevel.PRIVATE)
-public class UserProfileResponse {
+public class UserSummaryResponse {
     String id;
-    String userId;
     String username;
     String email;
-    String firstName;
-    String lastName;
-    LocalDate dob;
-    String city;
+    boolean emailVerified;
 }
@@ -0,0 +1,46 @@
+package com.devteria.identity.entity;
+
+import java.time.Instant;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@Entity
+@Table(indexes = @Index(name = "idx_outbox_event_failed_at_created_at", columnList = "failedAt, createdAt"))
+public class OutboxEvent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    String id;
+
+    String topic;
+    String eventKey;
+    String eventType;
+
+    @Column(columnDefinition = "TEXT")
+    String payload;
+
+    Instant createdAt;
+
+    // Failed sends so far
+    int attempts;
+
+    // Not picked up before this: a relay is sending it, or it waits to be retried
+    Instant nextAttemptAt;
+
+    // Set once the row is given up on; findNextBatch skips it from then on
+    Instant failedAt;
+}
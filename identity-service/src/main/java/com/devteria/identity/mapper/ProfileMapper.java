@@ -1,11 +1,13 @@
 package com.devteria.identity.mapper;
 
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 
-import com.devteria.identity.dto.request.ProfileCreationRequest;
+import com.devteria.event.dto.UserCreatedEvent;
 import com.devteria.identity.dto.request.UserCreationRequest;
 
 @Mapper(componentModel = "spring")
 public interface ProfileMapper {
-    ProfileCreationRequest toProfileCreationRequest(UserCreationRequest request);
+    @Mapping(target = "userId", ignore = true)
+    UserCreatedEvent toUserCreatedEvent(UserCreationRequest request);
 }
@@ -1,9 +1,20 @@
 package com.devteria.identity.repository;
 
+import java.util.Date;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import com.devteria.identity.entity.InvalidatedToken;
 
 @Repository
-public interface InvalidatedTokenRepository extends JpaRepository<InvalidatedToken, String> {}
+public interface InvalidatedTokenRepository extends JpaRepository<InvalidatedToken, String> {
+    @Query("select t.id from InvalidatedToken t")
+    List<String> findAllIds();
+
+    @Query("select t.id from InvalidatedToken t where t.expiryTime < :cutoff order by t.expiryTime")
+    List<String> findIdsExpiredBefore(Date cutoff, Pageable pageable);
+}
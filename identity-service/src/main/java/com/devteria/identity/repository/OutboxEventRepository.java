@@ -0,0 +1,29 @@
+package com.devteria.identity.repository;
+
+import java.time.Instant;
+import java.util.List;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+
+import com.devteria.identity.entity.OutboxEvent;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, String> {
+    // Lock timeout -2 is SKIP LOCKED, so concurrent relays pick disjoint batches
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query(
+            """
+            select e from OutboxEvent e
+            where e.failedAt is null and (e.nextAttemptAt is null or e.nextAttemptAt <= :now)
+            order by e.createdAt""")
+    List<OutboxEvent> findNextBatch(Instant now, Pageable pageable);
+}
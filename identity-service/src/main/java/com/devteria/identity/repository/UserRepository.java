@@ -1,10 +1,23 @@
 package com.devteria.identity.repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import jakarta.persistence.QueryHint;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.devteria.identity.dto.response.UserSummaryResponse;
 import com.devteria.identity.entity.User;
 
 @Repository
@@ -12,4 +25,49 @@ public interface UserRepository extends JpaRepository<User, String> {
     boolean existsByUsername(String username);
 
     Optional<User> findByUsername(String username);
+
+    // Loads roles and their permissions in the same query, for token generation and profile reads
+    @EntityGraph(attributePaths = {"roles", "roles.permissions"})
+    Optional<User> findWithRolesByUsername(String username);
+
+    @EntityGraph(attributePaths = {"roles", "roles.permissions"})
+    Optional<User> findWithRolesById(String id);
+
+    // Keyset page: ids strictly after the cursor, so deep pages cost the same as the first one
+    @Query(
+            """
+            select u.id from User u
+            where (:cursor is null or u.id > :cursor)
+              and (:emailVerified is null or u.emailVerified = :emailVerified)
+              and (:role is null or exists (select r from u.roles r where r.name = :role))
+            order by u.id""")
+    List<String> findIdsAfter(String cursor, String role, Boolean emailVerified, Pageable pageable);
+
+    @Query("select u.username from User u where u.username in :usernames")
+    List<String> findExistingUsernames(Collection<String> usernames);
+
+    @Query("select u.email from User u where u.email in :emails")
+    List<String> findExistingEmails(Collection<String> emails);
+
+    @EntityGraph(attributePaths = {"roles", "roles.permissions"})
+    List<User> findAllWithRolesByIdIn(Collection<String> ids, Sort sort);
+
+    // Constructor projection keeps rows out of the persistence context, the fetch size needs useCursorFetch
+    @QueryHints({
+        @QueryHint(name = "org.hibernate.fetchSize", value = "500"),
+        @QueryHint(name = "org.hibernate.readOnly", value = "true")
+    })
+    @Query(
+            """
+            select new com.devteria.identity.dto.response.UserSummaryResponse(u.id, u.username, u.email, u.emailVerified)
+            from User u
+            where (:emailVerified is null or u.emailVerified = :emailVerified)
+              and (:role is null or exists (select r from u.roles r where r.name = :role))
+            order by u.id""")
+    Stream<UserSummaryResponse> streamSummaries(String role, Boolean emailVerified);
+
+    @Transactional
+    @Modifying
+    @Query("update User u set u.password = :password where u.id = :id")
+    int updatePassword(String id, String password);
 }
@@ -4,15 +4,16 @@ import java.text.ParseException;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.Date;
-import java.util.StringJoiner;
+import java.util.Objects;
 import java.util.UUID;
 
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
-import org.springframework.util.CollectionUtils;
 
+import com.devteria.event.dto.TokenInvalidatedEvent;
+import com.devteria.identity.configuration.KafkaTopicConfig;
 import com.devteria.identity.dto.request.AuthenticationRequest;
 import com.devteria.identity.dto.request.IntrospectRequest;
 import com.devteria.identity.dto.request.LogoutRequest;
@@ -25,9 +26,7 @@ import com.devteria.identity.exception.AppException;
 import com.devteria.identity.exception.ErrorCode;
 import com.devteria.identity.repository.InvalidatedTokenRepository;
 import com.devteria.identity.repository.UserRepository;
-import com.nimbusds.jose.*;
-import com.nimbusds.jose.crypto.MACSigner;
-import com.nimbusds.jose.crypto.MACVerifier;
+import com.nimbusds.jose.JOSEException;
 import com.nimbusds.jwt.JWTClaimsSet;
 import com.nimbusds.jwt.SignedJWT;
 
@@ -44,10 +43,15 @@ import lombok.extern.slf4j.Slf4j;
 public class AuthenticationService {
     UserRepository userRepository;
     InvalidatedTokenRepository invalidatedTokenRepository;
+    RevokedTokenFilter revokedTokenFilter;
+    RoleCatalog roleCatalog;
+    TokenCrypto tokenCrypto;
+    PasswordHashingExecutor passwordHashingExecutor;
+    PasswordEncoder passwordEncoder;
+    KafkaTemplate<String, Object> kafkaTemplate;
 
-    @NonFinal
-    @Value("${jwt.signerKey}")
-    protected String SIGNER_KEY;
+    // Version of the role catalog the scope claim was built from
+    static final String ROLE_CATALOG_VERSION_CLAIM = "rcv";
 
     @NonFinal
     @Value("${jwt.valid-duration}")
@@ -60,26 +64,32 @@ public class AuthenticationService {
     public IntrospectResponse introspect(IntrospectRequest request)  {
         var token = request.getToken();
         boolean isValid = true;
+        boolean staleScope = false;
 
         try {
-            verifyToken(token, false);
+            var signedJWT = verifyToken(token, false);
+
+            // The token stays valid, but roles changed since it was issued and a refresh picks them up
+            Long version = signedJWT.getJWTClaimsSet().getLongClaim(ROLE_CATALOG_VERSION_CLAIM);
+            staleScope = Objects.nonNull(version) && version != roleCatalog.version();
         } catch (AppException | JOSEException | ParseException e) {
             isValid = false;
         }
 
-        return IntrospectResponse.builder().valid(isValid).build();
+        return IntrospectResponse.builder().valid(isValid).staleScope(staleScope).build();
     }
 
     public AuthenticationResponse authenticate(AuthenticationRequest request) {
-        PasswordEncoder passwordEncoder = new BCryptPasswordEncoder(10);
         var user = userRepository
-                .findByUsername(request.getUsername())
+                .findWithRolesByUsername(request.getUsername())
                 .orElseThrow(() -> new AppException(ErrorCode.USER_NOT_EXISTED));
 
-        boolean authenticated = passwordEncoder.matches(request.getPassword(), user.getPassword());
+        boolean authenticated = passwordHashingExecutor.matches(request.getPassword(), user.getPassword());
 
         if (!authenticated) throw new AppException(ErrorCode.UNAUTHENTICATED);
 
+        upgradePasswordHash(user, request.getPassword());
+
         var token = generateToken(user);
 
         return AuthenticationResponse.builder().token(token).build();
@@ -92,10 +102,7 @@ public class AuthenticationService {
             String jit = signToken.getJWTClaimsSet().getJWTID();
             Date expiryTime = signToken.getJWTClaimsSet().getExpirationTime();
 
-            InvalidatedToken invalidatedToken =
-                    InvalidatedToken.builder().id(jit).expiryTime(expiryTime).build();
-
-            invalidatedTokenRepository.save(invalidatedToken);
+            invalidateToken(jit, expiryTime);
         } catch (AppException exception){
             log.info("Token already expired");
         }
@@ -107,24 +114,45 @@ public class AuthenticationService {
         var jit = signedJWT.getJWTClaimsSet().getJWTID();
         var expiryTime = signedJWT.getJWTClaimsSet().getExpirationTime();
 
-        InvalidatedToken invalidatedToken =
-                InvalidatedToken.builder().id(jit).expiryTime(expiryTime).build();
-
-        invalidatedTokenRepository.save(invalidatedToken);
+        invalidateToken(jit, expiryTime);
 
         var username = signedJWT.getJWTClaimsSet().getSubject();
 
-        var user =
-                userRepository.findByUsername(username).orElseThrow(() -> new AppException(ErrorCode.UNAUTHENTICATED));
+        var user = userRepository
+                .findWithRolesByUsername(username)
+                .orElseThrow(() -> new AppException(ErrorCode.UNAUTHENTICATED));
 
         var token = generateToken(user);
 
         return AuthenticationResponse.builder().token(token).build();
     }
 
-    private String generateToken(User user) {
-        JWSHeader header = new JWSHeader(JWSAlgorithm.HS512);
+    private void upgradePasswordHash(User user, String rawPassword) {
+        if (!passwordEncoder.upgradeEncoding(user.getPassword())) return;
 
+        try {
+            userRepository.updatePassword(user.getId(), passwordHashingExecutor.encode(rawPassword));
+        } catch (AppException exception) {
+            // Executor is saturated, the hash will be upgraded on a later login
+            log.debug("Skipped password hash upgrade for user {}", user.getId());
+        }
+    }
+
+    private void invalidateToken(String jit, Date expiryTime) {
+        InvalidatedToken invalidatedToken =
+                InvalidatedToken.builder().id(jit).expiryTime(expiryTime).build();
+
+        invalidatedTokenRepository.save(invalidatedToken);
+        revokedTokenFilter.add(jit);
+
+        // Let the gateway drop the token without asking us on every request
+        kafkaTemplate.send(
+                KafkaTopicConfig.TOKEN_INVALIDATED_TOPIC,
+                jit,
+                TokenInvalidatedEvent.builder().id(jit).expiryTime(expiryTime).build());
+    }
+
+    private String generateToken(User user) {
         JWTClaimsSet jwtClaimsSet = new JWTClaimsSet.Builder()
                 .subject(user.getId())
                 .issuer("devteria.com")
@@ -133,16 +161,12 @@ public class AuthenticationService {
                         Instant.now().plus(VALID_DURATION, ChronoUnit.SECONDS).toEpochMilli()
                 ))
                 .jwtID(UUID.randomUUID().toString())
-                .claim("scope", buildScope(user))
+                .claim("scope", roleCatalog.scopeOf(user.getRoles()))
+                .claim(ROLE_CATALOG_VERSION_CLAIM, roleCatalog.version())
                 .build();
 
-        Payload payload = new Payload(jwtClaimsSet.toJSONObject());
-
-        JWSObject jwsObject = new JWSObject(header, payload);
-
         try {
-            jwsObject.sign(new MACSigner(SIGNER_KEY.getBytes()));
-            return jwsObject.serialize();
+            return tokenCrypto.sign(jwtClaimsSet);
         } catch (JOSEException e) {
             log.error("Cannot create token", e);
             throw new RuntimeException(e);
@@ -150,8 +174,6 @@ public class AuthenticationService {
     }
 
     private SignedJWT verifyToken(String token, boolean isRefresh) throws JOSEException, ParseException {
-        JWSVerifier verifier = new MACVerifier(SIGNER_KEY.getBytes());
-
         SignedJWT signedJWT = SignedJWT.parse(token);
 
         Date expiryTime = (isRefresh)
@@ -159,28 +181,16 @@ public class AuthenticationService {
                 .toInstant().plus(REFRESHABLE_DURATION, ChronoUnit.SECONDS).toEpochMilli())
                 : signedJWT.getJWTClaimsSet().getExpirationTime();
 
-        var verified = signedJWT.verify(verifier);
+        var verified = tokenCrypto.verify(signedJWT);
 
         if (!(verified && expiryTime.after(new Date()))) throw new AppException(ErrorCode.UNAUTHENTICATED);
 
-        if (invalidatedTokenRepository.existsById(signedJWT.getJWTClaimsSet().getJWTID()))
+        String jwtId = signedJWT.getJWTClaimsSet().getJWTID();
+        if (revokedTokenFilter.mightBeRevoked(jwtId) && invalidatedTokenRepository.existsById(jwtId))
             throw new AppException(ErrorCode.UNAUTHENTICATED);
 
         return signedJWT;
     }
 
-    private String buildScope(User user) {
-        StringJoiner stringJoiner = new StringJoiner(" ");
-
-        if (!CollectionUtils.isEmpty(user.getRoles()))
-            user.getRoles().forEach(role -> {
-                stringJoiner.add("ROLE_" + role.getName());
-                if (!CollectionUtils.isEmpty(role.getPermissions()))
-                    role.getPermissions().forEach(permission -> stringJoiner.add(permission.getName()));
-            });
-
-        return stringJoiner.toString();
-    }
-
     private record TokenInfo(String token, Date expiryDate) {}
 }
@@ -0,0 +1,108 @@
+package com.devteria.identity.service;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.devteria.identity.repository.InvalidatedTokenRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Deletes InvalidatedToken rows that can no longer be presented, in small batches so each
+ * delete is a short transaction. A row is kept until the refresh window of its token has
+ * passed, since refreshToken still checks the table after the access token expired.
+ */
+@Slf4j
+@Service
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class InvalidatedTokenPurgeService {
+    InvalidatedTokenRepository invalidatedTokenRepository;
+    RevokedTokenFilter revokedTokenFilter;
+
+    AtomicLong tableSize = new AtomicLong();
+    Counter purgedCounter;
+    Timer purgeTimer;
+
+    @NonFinal
+    @Value("${jwt.valid-duration}")
+    long validDuration;
+
+    @NonFinal
+    @Value("${jwt.refreshable-duration}")
+    long refreshableDuration;
+
+    @NonFinal
+    @Value("${app.invalidated-token-purge.batch-size:1000}")
+    int batchSize;
+
+    public InvalidatedTokenPurgeService(
+            InvalidatedTokenRepository invalidatedTokenRepository,
+            RevokedTokenFilter revokedTokenFilter,
+            MeterRegistry meterRegistry) {
+        this.invalidatedTokenRepository = invalidatedTokenRepository;
+        this.revokedTokenFilter = revokedTokenFilter;
+
+        Gauge.builder("identity.invalidated_token.rows", tableSize, AtomicLong::get)
+                .description("Rows in the InvalidatedToken table after the last purge")
+                .register(meterRegistry);
+        this.purgedCounter = Counter.builder("identity.invalidated_token.purged")
+                .description("Expired InvalidatedToken rows deleted")
+                .register(meterRegistry);
+        this.purgeTimer = Timer.builder("identity.invalidated_token.purge")
+                .description("Duration of an InvalidatedToken purge run")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(
+            initialDelayString = "${app.invalidated-token-purge.initial-delay:60000}",
+            fixedDelayString = "${app.invalidated-token-purge.interval:600000}")
+    public void purgeExpired() {
+        try {
+            Timer.Sample sample = Timer.start();
+            long purged = deleteExpiredInBatches();
+            sample.stop(purgeTimer);
+
+            tableSize.set(invalidatedTokenRepository.count());
+
+            if (purged > 0) {
+                log.info("Purged {} expired invalidated tokens", purged);
+                revokedTokenFilter.rebuild();
+            }
+        } catch (DataAccessException exception) {
+            log.warn("Cannot purge expired invalidated tokens", exception);
+        }
+    }
+
+    private long deleteExpiredInBatches() {
+        Date cutoff = Date.from(Instant.now().minus(refreshableDuration - validDuration, ChronoUnit.SECONDS));
+        long purged = 0;
+
+        List<String> ids;
+        do {
+            ids = invalidatedTokenRepository.findIdsExpiredBefore(cutoff, PageRequest.ofSize(batchSize));
+            if (!ids.isEmpty()) {
+                invalidatedTokenRepository.deleteAllByIdInBatch(ids);
+                purgedCounter.increment(ids.size());
+                purged += ids.size();
+            }
+        } while (ids.size() == batchSize);
+
+        return purged;
+    }
+}
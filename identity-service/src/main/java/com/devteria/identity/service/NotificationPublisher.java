@@ -0,0 +1,95 @@
+package com.devteria.identity.service;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.MicrometerProducerListener;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.stereotype.Component;
+
+import com.devteria.event.dto.NotificationEvent;
+import com.devteria.identity.configuration.KafkaTopicConfig;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Sends notification events on a producer of its own, tuned for throughput: idempotent with
+ * acks=all, a short linger so records are batched, and compression. Records are keyed by
+ * recipient so every notification for one address lands on the same partition in order.
+ * The shared KafkaTemplate keeps the default settings for latency sensitive events.
+ */
+@Slf4j
+@Component
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class NotificationPublisher implements DisposableBean {
+    DefaultKafkaProducerFactory<String, Object> producerFactory;
+    KafkaTemplate<String, Object> kafkaTemplate;
+    Timer successTimer;
+    Timer failureTimer;
+    Counter failureCounter;
+
+    public NotificationPublisher(
+            KafkaProperties kafkaProperties,
+            MeterRegistry meterRegistry,
+            @Value("${app.notification-producer.linger-ms:20}") int lingerMs,
+            @Value("${app.notification-producer.batch-size:65536}") int batchSize,
+            @Value("${app.notification-producer.compression-type:lz4}") String compressionType) {
+        Map<String, Object> properties = kafkaProperties.buildProducerProperties(null);
+        properties.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        properties.put(ProducerConfig.ACKS_CONFIG, "all");
+        properties.put(ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION, 5);
+        properties.put(ProducerConfig.LINGER_MS_CONFIG, lingerMs);
+        properties.put(ProducerConfig.BATCH_SIZE_CONFIG, batchSize);
+        properties.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, compressionType);
+        properties.put(ProducerConfig.CLIENT_ID_CONFIG, "identity-notification-producer");
+
+        this.producerFactory = new DefaultKafkaProducerFactory<>(properties);
+        this.producerFactory.addListener(new MicrometerProducerListener<>(meterRegistry));
+        this.kafkaTemplate = new KafkaTemplate<>(producerFactory);
+
+        this.successTimer = Timer.builder("identity.notification.send")
+                .description("Time from send to broker acknowledgement of a notification event")
+                .tag("result", "success")
+                .register(meterRegistry);
+        this.failureTimer = Timer.builder("identity.notification.send")
+                .description("Time from send to broker acknowledgement of a notification event")
+                .tag("result", "failure")
+                .register(meterRegistry);
+        this.failureCounter = Counter.builder("identity.notification.send.failures")
+                .description("Notification events the broker did not acknowledge")
+                .register(meterRegistry);
+    }
+
+    public CompletableFuture<SendResult<String, Object>> publish(NotificationEvent event) {
+        Timer.Sample sample = Timer.start();
+
+        return kafkaTemplate
+                .send(KafkaTopicConfig.NOTIFICATION_DELIVERY_TOPIC, event.getRecipient(), event)
+                .whenComplete((result, exception) -> {
+                    if (exception == null) {
+                        sample.stop(successTimer);
+                        return;
+                    }
+
+                    sample.stop(failureTimer);
+                    failureCounter.increment();
+                    log.warn("Cannot publish notification to {}", event.getRecipient(), exception);
+                });
+    }
+
+    @Override
+    public void destroy() {
+        producerFactory.destroy();
+    }
+}
@@ -0,0 +1,155 @@
+package com.devteria.identity.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.devteria.event.dto.NotificationEvent;
+import com.devteria.identity.entity.OutboxEvent;
+import com.devteria.identity.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Publishes outbox rows to Kafka in creation order and deletes them once the broker has
+ * acknowledged them. Delivery is at least once, so consumers must tolerate duplicates.
+ *
+ * <p>A run claims a batch in a short transaction by pushing nextAttemptAt past the time the
+ * sends can take, sends outside any transaction, then records the outcome in a second short
+ * one. A row whose send fails is retried with a doubling backoff and marked failed after
+ * max-attempts; a row that cannot be read is marked failed at once. Failed rows stay in the
+ * table for inspection and no longer hold back the rows behind them. To retry them, clear
+ * failed_at and attempts.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class OutboxRelay {
+    OutboxEventRepository outboxEventRepository;
+    KafkaTemplate<String, Object> kafkaTemplate;
+    NotificationPublisher notificationPublisher;
+    ObjectMapper objectMapper;
+    TransactionTemplate transactionTemplate;
+
+    @NonFinal
+    @Value("${app.outbox.batch-size:100}")
+    int batchSize;
+
+    @NonFinal
+    @Value("${app.outbox.send-timeout-millis:10000}")
+    long sendTimeoutMillis;
+
+    @NonFinal
+    @Value("${app.outbox.max-attempts:20}")
+    int maxAttempts;
+
+    @NonFinal
+    @Value("${app.outbox.retry-backoff-millis:1000}")
+    long retryBackoffMillis;
+
+    @NonFinal
+    @Value("${app.outbox.max-retry-backoff-millis:300000}")
+    long maxRetryBackoffMillis;
+
+    @Scheduled(fixedDelayString = "${app.outbox.relay-interval:500}")
+    public void relay() {
+        List<OutboxEvent> events = transactionTemplate.execute(status -> claimNextBatch());
+        if (events.isEmpty()) return;
+
+        // Send the whole batch before waiting so the producer can batch the records
+        List<OutboxEvent> sent = new ArrayList<>();
+        List<OutboxEvent> unreadable = new ArrayList<>();
+        List<CompletableFuture<SendResult<String, Object>>> futures = new ArrayList<>();
+        for (OutboxEvent event : events) {
+            try {
+                Object payload = deserialize(event);
+                futures.add(
+                        payload instanceof NotificationEvent notificationEvent
+                                ? notificationPublisher.publish(notificationEvent)
+                                : kafkaTemplate.send(event.getTopic(), event.getEventKey(), payload));
+                sent.add(event);
+            } catch (ClassNotFoundException | JsonProcessingException e) {
+                log.error("Cannot read outbox event {} of type {}, marking it failed", event.getId(),
+                        event.getEventType(), e);
+                unreadable.add(event);
+            }
+        }
+
+        List<OutboxEvent> published = new ArrayList<>();
+        List<OutboxEvent> failed = new ArrayList<>();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(sendTimeoutMillis);
+        for (int i = 0; i < sent.size(); i++) {
+            try {
+                futures.get(i).get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                published.add(sent.get(i));
+            } catch (InterruptedException e) {
+                // The rest are picked up again once their claim runs out
+                Thread.currentThread().interrupt();
+                break;
+            } catch (ExecutionException | TimeoutException e) {
+                log.warn("Cannot publish outbox event {}", sent.get(i).getId(), e);
+                failed.add(sent.get(i));
+            }
+        }
+
+        transactionTemplate.executeWithoutResult(status -> recordOutcome(published, failed, unreadable));
+    }
+
+    private List<OutboxEvent> claimNextBatch() {
+        Instant now = Instant.now();
+        List<OutboxEvent> events = outboxEventRepository.findNextBatch(now, PageRequest.of(0, batchSize));
+
+        // Long enough to send and wait for the batch, so no other relay picks these rows meanwhile
+        Instant claimedUntil = now.plusMillis(2 * sendTimeoutMillis);
+        events.forEach(event -> event.setNextAttemptAt(claimedUntil));
+        return events;
+    }
+
+    private void recordOutcome(List<OutboxEvent> published, List<OutboxEvent> failed, List<OutboxEvent> unreadable) {
+        Instant now = Instant.now();
+        outboxEventRepository.deleteAllInBatch(published);
+
+        for (OutboxEvent event : failed) {
+            event.setAttempts(event.getAttempts() + 1);
+            if (event.getAttempts() >= maxAttempts) {
+                log.error("Giving up on outbox event {} after {} attempts", event.getId(), event.getAttempts());
+                event.setFailedAt(now);
+            } else {
+                event.setNextAttemptAt(now.plus(retryBackoff(event.getAttempts())));
+            }
+        }
+        unreadable.forEach(event -> event.setFailedAt(now));
+
+        outboxEventRepository.saveAll(failed);
+        outboxEventRepository.saveAll(unreadable);
+    }
+
+    private Duration retryBackoff(int attempts) {
+        long backoffMillis = retryBackoffMillis << Math.min(attempts - 1, 30);
+        return Duration.ofMillis(Math.min(backoffMillis, maxRetryBackoffMillis));
+    }
+
+    private Object deserialize(OutboxEvent event) throws ClassNotFoundException, JsonProcessingException {
+        return objectMapper.readValue(event.getPayload(), Class.forName(event.getEventType()));
+    }
+}
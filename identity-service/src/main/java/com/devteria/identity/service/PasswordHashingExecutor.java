@@ -0,0 +1,97 @@
+package com.devteria.identity.service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import com.devteria.identity.exception.AppException;
+import com.devteria.identity.exception.ErrorCode;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+
+/**
+ * Runs login password checks on a fixed number of threads with a bounded queue. BCrypt is
+ * CPU bound, so a login burst is capped at pool-size cores instead of taking every Tomcat
+ * thread; once the queue is full, further logins are rejected with 429 right away.
+ */
+@Component
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class PasswordHashingExecutor implements DisposableBean {
+    ExecutorService executor;
+    PasswordEncoder passwordEncoder;
+    long timeoutMillis;
+
+    public PasswordHashingExecutor(
+            PasswordEncoder passwordEncoder,
+            MeterRegistry meterRegistry,
+            @Value("${app.login-executor.pool-size:0}") int poolSize,
+            @Value("${app.login-executor.queue-capacity:100}") int queueCapacity,
+            @Value("${app.login-executor.timeout-millis:5000}") long timeoutMillis) {
+        // Leave a core for introspect and refresh unless a size is configured
+        int threads = poolSize > 0
+                ? poolSize
+                : Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+
+        ThreadPoolExecutor threadPoolExecutor = new ThreadPoolExecutor(
+                threads,
+                threads,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new CustomizableThreadFactory("login-hash-"),
+                new ThreadPoolExecutor.AbortPolicy());
+
+        this.executor = ExecutorServiceMetrics.monitor(meterRegistry, threadPoolExecutor, "login-password-hashing");
+        this.passwordEncoder = passwordEncoder;
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    public boolean matches(String rawPassword, String encodedPassword) {
+        return execute(() -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    public String encode(String rawPassword) {
+        return execute(() -> passwordEncoder.encode(rawPassword));
+    }
+
+    private <T> T execute(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException exception) {
+            throw new AppException(ErrorCode.TOO_MANY_LOGIN_REQUESTS);
+        }
+
+        try {
+            return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException exception) {
+            future.cancel(true);
+            throw new AppException(ErrorCode.TOO_MANY_LOGIN_REQUESTS);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new AppException(ErrorCode.UNCATEGORIZED_EXCEPTION);
+        } catch (ExecutionException exception) {
+            throw new IllegalStateException(exception.getCause());
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+}
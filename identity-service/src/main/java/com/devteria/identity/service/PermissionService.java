@@ -22,19 +22,25 @@ import lombok.extern.slf4j.Slf4j;
 public class PermissionService {
     PermissionRepository permissionRepository;
     PermissionMapper permissionMapper;
+    RoleCatalog roleCatalog;
+    UserResponseCache userResponseCache;
 
     public PermissionResponse create(PermissionRequest request) {
         Permission permission = permissionMapper.toPermission(request);
         permission = permissionRepository.save(permission);
+        roleCatalog.rebuild();
+
         return permissionMapper.toPermissionResponse(permission);
     }
 
     public List<PermissionResponse> getAll() {
-        var permissions = permissionRepository.findAll();
+        var permissions = roleCatalog.permissions();
         return permissions.stream().map(permissionMapper::toPermissionResponse).toList();
     }
 
     public void delete(String permission) {
         permissionRepository.deleteById(permission);
+        roleCatalog.rebuild();
+        userResponseCache.evictAll();
     }
 }
@@ -0,0 +1,91 @@
+package com.devteria.identity.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+
+import com.devteria.identity.repository.InvalidatedTokenRepository;
+import com.google.common.hash.BloomFilter;
+import com.google.common.hash.Funnels;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-memory bloom filter over the ids in the InvalidatedToken table. A negative answer
+ * means the token was never invalidated, so only possible hits need a database lookup.
+ * Until the filter has been loaded every id is reported as a possible hit.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class RevokedTokenFilter {
+    InvalidatedTokenRepository invalidatedTokenRepository;
+
+    @NonFinal
+    @Value("${app.revoked-token-filter.expected-insertions:100000}")
+    long expectedInsertions;
+
+    @NonFinal
+    @Value("${app.revoked-token-filter.false-positive-probability:0.01}")
+    double falsePositiveProbability;
+
+    @NonFinal
+    volatile BloomFilter<CharSequence> filter;
+
+    // Ids added while a rebuild is reading the table, replayed into the new filter
+    @NonFinal
+    Set<String> pending;
+
+    public boolean mightBeRevoked(String id) {
+        BloomFilter<CharSequence> current = filter;
+        return Objects.isNull(current) || current.mightContain(id);
+    }
+
+    public synchronized void add(String id) {
+        if (Objects.nonNull(filter)) filter.put(id);
+        if (Objects.nonNull(pending)) pending.add(id);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        synchronized (this) {
+            pending = new HashSet<>();
+        }
+
+        try {
+            List<String> ids = invalidatedTokenRepository.findAllIds();
+
+            // Leave headroom so the filter stays accurate until the next rebuild
+            BloomFilter<CharSequence> rebuilt = BloomFilter.create(
+                    Funnels.stringFunnel(StandardCharsets.UTF_8),
+                    Math.max(expectedInsertions, ids.size() * 2L),
+                    falsePositiveProbability);
+            ids.forEach(rebuilt::put);
+
+            synchronized (this) {
+                pending.forEach(rebuilt::put);
+                filter = rebuilt;
+            }
+            log.info("Revoked token filter loaded with {} ids", ids.size());
+        } catch (DataAccessException exception) {
+            log.warn("Cannot load revoked token filter, falling back to database lookups", exception);
+        } finally {
+            synchronized (this) {
+                pending = null;
+            }
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package com.devteria.identity.service;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.StringJoiner;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.CollectionUtils;
+
+import com.devteria.identity.entity.Permission;
+import com.devteria.identity.entity.Role;
+import com.devteria.identity.repository.PermissionRepository;
+import com.devteria.identity.repository.RoleRepository;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Immutable in-memory snapshot of all roles (with permissions loaded), permissions and the
+ * scope string of each role. Readers take the current snapshot without locking; a rebuild
+ * loads a new one and swaps it in atomically after role or permission changes, and
+ * periodically to pick up changes made by other instances. The first snapshot is loaded before
+ * the web server starts, and startup fails if it cannot be. A role missing from the snapshot,
+ * for example one just created on another instance, is looked up in the database.
+ *
+ * <p>The version is a fingerprint of the content, so every instance with the same roles
+ * reports the same version. It is embedded in tokens to tell whether their scope is stale.
+ * The Role and Permission entities are detached and shared, they must not be modified.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class RoleCatalog implements SmartInitializingSingleton {
+    RoleRepository roleRepository;
+    PermissionRepository permissionRepository;
+
+    AtomicReference<Snapshot> snapshot = new AtomicReference<>(Snapshot.EMPTY);
+    ReentrantLock rebuildLock = new ReentrantLock();
+
+    public long version() {
+        return snapshot.get().version();
+    }
+
+    public Optional<Role> findRole(String name) {
+        Role role = snapshot.get().roles().get(name);
+        if (Objects.nonNull(role)) return Optional.of(role);
+
+        return roleRepository.findById(name);
+    }
+
+    public List<Role> findRoles(Collection<String> names) {
+        if (CollectionUtils.isEmpty(names)) return List.of();
+
+        Map<String, Role> roles = snapshot.get().roles();
+        List<Role> found = new ArrayList<>(names.size());
+        List<String> missing = new ArrayList<>();
+        names.forEach(name -> {
+            Role role = roles.get(name);
+            if (Objects.nonNull(role)) found.add(role);
+            else missing.add(name);
+        });
+
+        if (!missing.isEmpty()) found.addAll(roleRepository.findAllById(missing));
+
+        return found;
+    }
+
+    public List<Role> roles() {
+        return List.copyOf(snapshot.get().roles().values());
+    }
+
+    public List<Permission> findPermissions(Collection<String> names) {
+        if (CollectionUtils.isEmpty(names)) return List.of();
+
+        Map<String, Permission> permissions = snapshot.get().permissions();
+        return names.stream().map(permissions::get).filter(Objects::nonNull).toList();
+    }
+
+    public List<Permission> permissions() {
+        return List.copyOf(snapshot.get().permissions().values());
+    }
+
+    public String scopeOf(Collection<Role> roles) {
+        StringJoiner stringJoiner = new StringJoiner(" ");
+        Map<String, String> scopes = snapshot.get().scopes();
+
+        if (!CollectionUtils.isEmpty(roles))
+            roles.forEach(role -> {
+                String scope = scopes.get(role.getName());
+                stringJoiner.add(Objects.nonNull(scope) ? scope : buildScope(role));
+            });
+
+        return stringJoiner.toString();
+    }
+
+    // Runs once all singletons exist and before the web server starts, so no request sees an empty catalog
+    @Override
+    public void afterSingletonsInstantiated() {
+        load();
+    }
+
+    @Scheduled(
+            initialDelayString = "${app.role-catalog.refresh-interval:300000}",
+            fixedDelayString = "${app.role-catalog.refresh-interval:300000}")
+    public void rebuild() {
+        try {
+            load();
+        } catch (DataAccessException exception) {
+            log.warn("Cannot load role catalog, keeping version {}", version(), exception);
+        }
+    }
+
+    // Serialised so an older load can never replace a newer snapshot. A lock rather than
+    // synchronized, so a virtual thread waiting on the database does not pin its carrier
+    private void load() {
+        rebuildLock.lock();
+        try {
+            Map<String, Role> roles = new TreeMap<>();
+            roleRepository.findAllWithPermissions().forEach(role -> roles.put(role.getName(), role));
+
+            Map<String, Permission> permissions = new TreeMap<>();
+            permissionRepository.findAll().forEach(permission -> permissions.put(permission.getName(), permission));
+
+            Map<String, String> scopes = new TreeMap<>();
+            roles.values().forEach(role -> scopes.put(role.getName(), buildScope(role)));
+
+            Snapshot rebuilt = new Snapshot(
+                    fingerprint(scopes, permissions),
+                    Collections.unmodifiableMap(roles),
+                    Collections.unmodifiableMap(permissions),
+                    Collections.unmodifiableMap(scopes));
+            Snapshot previous = snapshot.getAndSet(rebuilt);
+
+            if (previous.version() != rebuilt.version())
+                log.info("Role catalog loaded with {} roles, version {}", roles.size(), rebuilt.version());
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    private String buildScope(Role role) {
+        StringJoiner stringJoiner = new StringJoiner(" ");
+        stringJoiner.add("ROLE_" + role.getName());
+        if (!CollectionUtils.isEmpty(role.getPermissions()))
+            role.getPermissions().stream()
+                    .map(Permission::getName)
+                    .sorted()
+                    .forEach(stringJoiner::add);
+
+        return stringJoiner.toString();
+    }
+
+    // Both maps are sorted by name, so equal content gives the same digest on every instance
+    private long fingerprint(Map<String, String> scopes, Map<String, Permission> permissions) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            scopes.forEach((name, scope) -> digest.update((name + '=' + scope + '\n').getBytes(StandardCharsets.UTF_8)));
+            permissions.keySet().forEach(name -> digest.update((name + '\n').getBytes(StandardCharsets.UTF_8)));
+
+            return ByteBuffer.wrap(digest.digest()).getLong();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record Snapshot(
+            long version, Map<String, Role> roles, Map<String, Permission> permissions, Map<String, String> scopes) {
+        static final Snapshot EMPTY = new Snapshot(0, Map.of(), Map.of(), Map.of());
+    }
+}
@@ -8,7 +8,6 @@ import org.springframework.stereotype.Service;
 import com.devteria.identity.dto.request.RoleRequest;
 import com.devteria.identity.dto.response.RoleResponse;
 import com.devteria.identity.mapper.RoleMapper;
-import com.devteria.identity.repository.PermissionRepository;
 import com.devteria.identity.repository.RoleRepository;
 
 import lombok.AccessLevel;
@@ -22,24 +21,30 @@ import lombok.extern.slf4j.Slf4j;
 @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
 public class RoleService {
     RoleRepository roleRepository;
-    PermissionRepository permissionRepository;
     RoleMapper roleMapper;
+    RoleCatalog roleCatalog;
+    UserResponseCache userResponseCache;
 
     public RoleResponse create(RoleRequest request) {
         var role = roleMapper.toRole(request);
 
-        var permissions = permissionRepository.findAllById(request.getPermissions());
+        var permissions = roleCatalog.findPermissions(request.getPermissions());
         role.setPermissions(new HashSet<>(permissions));
 
         role = roleRepository.save(role);
+        roleCatalog.rebuild();
+        userResponseCache.evictAll();
+
         return roleMapper.toRoleResponse(role);
     }
 
     public List<RoleResponse> getAll() {
-        return roleRepository.findAll().stream().map(roleMapper::toRoleResponse).toList();
+        return roleCatalog.roles().stream().map(roleMapper::toRoleResponse).toList();
     }
 
     public void delete(String role) {
         roleRepository.deleteById(role);
+        roleCatalog.rebuild();
+        userResponseCache.evictAll();
     }
 }
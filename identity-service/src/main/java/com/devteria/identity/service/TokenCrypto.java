@@ -0,0 +1,70 @@
+package com.devteria.identity.service;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import com.devteria.identity.configuration.JwtProperties;
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.JWSSigner;
+import com.nimbusds.jose.JWSVerifier;
+import com.nimbusds.jose.crypto.MACSigner;
+import com.nimbusds.jose.crypto.MACVerifier;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+
+/**
+ * Signs and verifies tokens with signer and verifier instances prepared once at startup.
+ * MACSigner and MACVerifier are thread-safe, so one instance per key is shared by all requests.
+ * Tokens carry the key id of the key that signed them; tokens without one predate key ids
+ * and are verified with the active key.
+ */
+@Component
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class TokenCrypto {
+    JWSHeader header;
+    JWSSigner signer;
+    JWSVerifier activeVerifier;
+    Map<String, JWSVerifier> verifiers;
+
+    public TokenCrypto(JwtProperties jwtProperties) throws JOSEException {
+        byte[] signerKey = jwtProperties.getSignerKey().getBytes();
+
+        this.header = new JWSHeader.Builder(JWSAlgorithm.HS512)
+                .keyID(jwtProperties.getKeyId())
+                .build();
+        this.signer = new MACSigner(signerKey);
+        this.activeVerifier = new MACVerifier(signerKey);
+
+        Map<String, JWSVerifier> verifiersByKeyId = new HashMap<>();
+        for (var previousKey : jwtProperties.getPreviousKeys().entrySet())
+            verifiersByKeyId.put(previousKey.getKey(), new MACVerifier(previousKey.getValue().getBytes()));
+        if (StringUtils.hasText(jwtProperties.getKeyId()))
+            verifiersByKeyId.put(jwtProperties.getKeyId(), activeVerifier);
+
+        this.verifiers = Map.copyOf(verifiersByKeyId);
+    }
+
+    public String sign(JWTClaimsSet claims) throws JOSEException {
+        SignedJWT signedJWT = new SignedJWT(header, claims);
+        signedJWT.sign(signer);
+        return signedJWT.serialize();
+    }
+
+    public boolean verify(SignedJWT signedJWT) throws JOSEException {
+        if (!JWSAlgorithm.HS512.equals(signedJWT.getHeader().getAlgorithm())) return false;
+
+        String keyId = signedJWT.getHeader().getKeyID();
+        JWSVerifier verifier = Objects.isNull(keyId) ? activeVerifier : verifiers.get(keyId);
+
+        return Objects.nonNull(verifier) && signedJWT.verify(verifier);
+    }
+}
@@ -0,0 +1,441 @@
+package com.devteria.identity.service;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.devteria.event.dto.NotificationEvent;
+import com.devteria.event.dto.UserCreatedEvent;
+import com.devteria.identity.configuration.KafkaTopicConfig;
+import com.devteria.identity.constant.PredefinedRole;
+import com.devteria.identity.dto.request.UserCreationRequest;
+import com.devteria.identity.dto.response.UserImportResponse;
+import com.devteria.identity.dto.response.UserImportRowResult;
+import com.devteria.identity.entity.Role;
+import com.devteria.identity.entity.User;
+import com.devteria.identity.exception.ErrorCode;
+import com.devteria.identity.mapper.ProfileMapper;
+import com.devteria.identity.mapper.UserMapper;
+import com.devteria.identity.repository.UserRepository;
+import com.fasterxml.jackson.core.JsonLocation;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Creates users from a CSV (with header row) or NDJSON stream. Rows are read and written in
+ * chunks: passwords of a chunk are hashed in parallel, the users and their outbox events are
+ * inserted in one batched transaction, then the persistence context is cleared, so memory
+ * stays bounded by the chunk size. Every row gets a result in the report, including rows that
+ * cannot be parsed; if the CSV parser cannot get past a broken row, the import stops there and
+ * the report covers the rows read so far.
+ */
+@Slf4j
+@Service
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class UserImportService implements DisposableBean {
+    public static final MediaType TEXT_CSV = new MediaType("text", "csv");
+
+    static final String MIN_ATTRIBUTE = "min";
+
+    UserRepository userRepository;
+    RoleCatalog roleCatalog;
+    UserMapper userMapper;
+    ProfileMapper profileMapper;
+    PasswordEncoder passwordEncoder;
+    OutboxService outboxService;
+    Validator validator;
+    ObjectMapper objectMapper;
+    CsvMapper csvMapper;
+    TransactionTemplate transactionTemplate;
+    EntityManager entityManager;
+    ExecutorService hashingExecutor;
+    int chunkSize;
+
+    public UserImportService(
+            UserRepository userRepository,
+            RoleCatalog roleCatalog,
+            UserMapper userMapper,
+            ProfileMapper profileMapper,
+            PasswordEncoder passwordEncoder,
+            OutboxService outboxService,
+            Validator validator,
+            ObjectMapper objectMapper,
+            TransactionTemplate transactionTemplate,
+            EntityManager entityManager,
+            @Value("${app.user-import.hashing-threads:0}") int hashingThreads,
+            @Value("${app.user-import.chunk-size:500}") int chunkSize) {
+        this.userRepository = userRepository;
+        this.roleCatalog = roleCatalog;
+        this.userMapper = userMapper;
+        this.profileMapper = profileMapper;
+        this.passwordEncoder = passwordEncoder;
+        this.outboxService = outboxService;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = transactionTemplate;
+        this.entityManager = entityManager;
+        this.chunkSize = chunkSize;
+
+        this.csvMapper = CsvMapper.builder()
+                .addModule(new JavaTimeModule())
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .build();
+
+        // Separate from the login executor so import rows never queue ahead of logins; both still share
+        // the CPU, so by default imports hash on half the cores and leave the rest to logins
+        int threads = hashingThreads > 0 ? hashingThreads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        this.hashingExecutor = Executors.newFixedThreadPool(threads, new CustomizableThreadFactory("import-hash-"));
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    public UserImportResponse importUsers(InputStream inputStream, MediaType contentType) throws IOException {
+        List<UserImportRowResult> results = new ArrayList<>();
+        Set<String> seenUsernames = new HashSet<>();
+        Set<String> seenEmails = new HashSet<>();
+
+        try (RowReader rows = rowReader(inputStream, contentType)) {
+            List<ImportRow> chunk = new ArrayList<>(chunkSize);
+            int rowNumber = 0;
+
+            while (true) {
+                UserCreationRequest request;
+                rowNumber++;
+                try {
+                    request = rows.next();
+                } catch (RuntimeException | IOException e) {
+                    if (!rows.canContinue()) {
+                        log.warn("Import stopped at unreadable row {}", rowNumber, e);
+                        results.add(failed(
+                                rowNumber,
+                                null,
+                                ErrorCode.INVALID_KEY,
+                                "Malformed row, the rest of the input could not be read"));
+                        break;
+                    }
+
+                    results.add(failed(rowNumber, null, ErrorCode.INVALID_KEY, "Malformed row"));
+                    continue;
+                }
+                if (Objects.isNull(request)) break;
+
+                chunk.add(new ImportRow(rowNumber, request));
+
+                if (chunk.size() == chunkSize) {
+                    importChunk(chunk, seenUsernames, seenEmails, results);
+                    chunk.clear();
+                }
+            }
+
+            if (!chunk.isEmpty()) importChunk(chunk, seenUsernames, seenEmails, results);
+        }
+
+        results.sort(Comparator.comparingInt(UserImportRowResult::getRow));
+        int created = (int) results.stream().filter(UserImportRowResult::isCreated).count();
+
+        return UserImportResponse.builder()
+                .total(results.size())
+                .created(created)
+                .failed(results.size() - created)
+                .rows(results)
+                .build();
+    }
+
+    private RowReader rowReader(InputStream inputStream, MediaType contentType) throws IOException {
+        if (TEXT_CSV.isCompatibleWith(contentType))
+            return new CsvRowReader(csvMapper
+                    .readerFor(UserCreationRequest.class)
+                    .with(CsvSchema.emptySchema().withHeader())
+                    .readValues(inputStream));
+
+        return new NdjsonRowReader(
+                new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8)),
+                objectMapper.readerFor(UserCreationRequest.class));
+    }
+
+    private void importChunk(
+            List<ImportRow> chunk,
+            Set<String> seenUsernames,
+            Set<String> seenEmails,
+            List<UserImportRowResult> results) {
+        List<ImportRow> checked = new ArrayList<>(chunk.size());
+        for (ImportRow row : chunk) {
+            UserImportRowResult invalid = validate(row, seenUsernames, seenEmails);
+            if (Objects.nonNull(invalid)) results.add(invalid);
+            else checked.add(row);
+        }
+
+        List<ImportRow> valid = removeExisting(checked, results);
+        if (valid.isEmpty()) return;
+
+        List<CompletableFuture<String>> hashes = valid.stream()
+                .map(row -> CompletableFuture.supplyAsync(
+                        () -> passwordEncoder.encode(row.request().getPassword()), hashingExecutor))
+                .toList();
+
+        List<ImportRow> hashed = new ArrayList<>(valid.size());
+        List<User> users = new ArrayList<>(valid.size());
+        for (int i = 0; i < valid.size(); i++) {
+            ImportRow row = valid.get(i);
+            String hash;
+            try {
+                hash = hashes.get(i).join();
+            } catch (CompletionException exception) {
+                log.warn("Could not hash the password of import row {}", row.rowNumber(), exception.getCause());
+                results.add(failed(
+                        row.rowNumber(),
+                        row.request().getUsername(),
+                        ErrorCode.UNCATEGORIZED_EXCEPTION,
+                        "Password could not be hashed"));
+                continue;
+            }
+
+            User user = userMapper.toUser(row.request());
+            user.setPassword(hash);
+            user.setEmailVerified(false);
+            hashed.add(row);
+            users.add(user);
+        }
+        if (hashed.isEmpty()) return;
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> insert(hashed, users));
+            for (int i = 0; i < hashed.size(); i++)
+                results.add(UserImportRowResult.builder()
+                        .row(hashed.get(i).rowNumber())
+                        .username(users.get(i).getUsername())
+                        .userId(users.get(i).getId())
+                        .created(true)
+                        .build());
+        } catch (DataIntegrityViolationException exception) {
+            // Another request took one of the names after our check, the chunk was rolled back
+            log.warn("Import chunk rolled back", exception);
+            hashed.forEach(row -> results.add(failed(
+                    row.rowNumber(), row.request().getUsername(), ErrorCode.USER_EXISTED, "Chunk rolled back")));
+        } finally {
+            // Open-in-view keeps one persistence context for the whole request
+            entityManager.clear();
+        }
+    }
+
+    private void insert(List<ImportRow> rows, List<User> users) {
+        HashSet<Role> roles = new HashSet<>();
+        roleCatalog.findRole(PredefinedRole.USER_ROLE).ifPresent(roles::add);
+        users.forEach(user -> user.setRoles(new HashSet<>(roles)));
+
+        // Batched by hibernate.jdbc.batch_size on flush
+        userRepository.saveAll(users);
+
+        for (int i = 0; i < users.size(); i++) {
+            User user = users.get(i);
+            UserCreationRequest request = rows.get(i).request();
+
+            UserCreatedEvent userCreatedEvent = profileMapper.toUserCreatedEvent(request);
+            userCreatedEvent.setUserId(user.getId());
+            outboxService.enqueue(KafkaTopicConfig.USER_CREATED_TOPIC, user.getId(), userCreatedEvent);
+
+            NotificationEvent notificationEvent = NotificationEvent.builder()
+                    .channel("EMAIL")
+                    .recipient(request.getEmail())
+                    .subject("Welcome to bookteria")
+                    .body("Hello, " + request.getUsername())
+                    .build();
+            outboxService.enqueue(KafkaTopicConfig.NOTIFICATION_DELIVERY_TOPIC, request.getEmail(), notificationEvent);
+        }
+    }
+
+    private UserImportRowResult validate(ImportRow row, Set<String> seenUsernames, Set<String> seenEmails) {
+        UserCreationRequest request = row.request();
+
+        Set<ConstraintViolation<UserCreationRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            ConstraintViolation<UserCreationRequest> violation = violations.iterator().next();
+            ErrorCode errorCode = ErrorCode.INVALID_KEY;
+            try {
+                errorCode = ErrorCode.valueOf(violation.getMessage());
+            } catch (IllegalArgumentException e) {
+                // Not one of our message keys
+            }
+
+            Map<String, Object> attributes = violation.getConstraintDescriptor().getAttributes();
+            String message = errorCode
+                    .getMessage()
+                    .replace("{" + MIN_ATTRIBUTE + "}", String.valueOf(attributes.get(MIN_ATTRIBUTE)));
+
+            return failed(row.rowNumber(), request.getUsername(), errorCode, message);
+        }
+
+        if (Objects.isNull(request.getUsername()))
+            return failed(row.rowNumber(), null, ErrorCode.USERNAME_INVALID, "Username is required");
+
+        // @Size lets a missing password through, and the encoder rejects null
+        if (Objects.isNull(request.getPassword()))
+            return failed(row.rowNumber(), request.getUsername(), ErrorCode.INVALID_PASSWORD, "Password is required");
+
+        // The unique indexes use utf8mb4_unicode_ci, so "John" and "john" are the same user
+        if (!seenUsernames.add(normalize(request.getUsername()))
+                || (Objects.nonNull(request.getEmail()) && !seenEmails.add(normalize(request.getEmail()))))
+            return failed(row.rowNumber(), request.getUsername(), ErrorCode.USER_EXISTED, "Duplicate row in file");
+
+        return null;
+    }
+
+    private List<ImportRow> removeExisting(List<ImportRow> rows, List<UserImportRowResult> results) {
+        if (rows.isEmpty()) return rows;
+
+        // The database matches case-insensitively and returns the stored spelling
+        Set<String> existingUsernames = normalize(userRepository.findExistingUsernames(
+                rows.stream().map(row -> row.request().getUsername()).toList()));
+        Set<String> existingEmails = normalize(userRepository.findExistingEmails(
+                rows.stream().map(row -> row.request().getEmail()).toList()));
+
+        List<ImportRow> remaining = new ArrayList<>(rows.size());
+        for (ImportRow row : rows) {
+            if (existingUsernames.contains(normalize(row.request().getUsername()))
+                    || existingEmails.contains(normalize(row.request().getEmail())))
+                results.add(failed(
+                        row.rowNumber(),
+                        row.request().getUsername(),
+                        ErrorCode.USER_EXISTED,
+                        ErrorCode.USER_EXISTED.getMessage()));
+            else remaining.add(row);
+        }
+
+        return remaining;
+    }
+
+    private static Set<String> normalize(List<String> values) {
+        Set<String> normalized = new HashSet<>();
+        values.forEach(value -> normalized.add(normalize(value)));
+        return normalized;
+    }
+
+    private static String normalize(String value) {
+        return Objects.isNull(value) ? null : value.toLowerCase(Locale.ROOT);
+    }
+
+    private UserImportRowResult failed(int rowNumber, String username, ErrorCode errorCode, String message) {
+        return UserImportRowResult.builder()
+                .row(rowNumber)
+                .username(username)
+                .created(false)
+                .code(errorCode.getCode())
+                .message(message)
+                .build();
+    }
+
+    @Override
+    public void destroy() {
+        hashingExecutor.shutdown();
+    }
+
+    private record ImportRow(int rowNumber, UserCreationRequest request) {}
+
+    private interface RowReader extends Closeable {
+        // Next row, or null at the end of the input
+        UserCreationRequest next() throws IOException;
+
+        // Whether rows after one that failed to parse can still be read
+        boolean canContinue();
+    }
+
+    // One JSON object per line, so a broken line never takes the following ones with it
+    @RequiredArgsConstructor
+    private static class NdjsonRowReader implements RowReader {
+        final BufferedReader reader;
+        final ObjectReader objectReader;
+
+        @Override
+        public UserCreationRequest next() throws IOException {
+            String line;
+            do {
+                line = reader.readLine();
+                if (Objects.isNull(line)) return null;
+            } while (line.isBlank());
+
+            return objectReader.readValue(line);
+        }
+
+        @Override
+        public boolean canContinue() {
+            return true;
+        }
+
+        @Override
+        public void close() throws IOException {
+            reader.close();
+        }
+    }
+
+    // CSV records can span lines inside quotes, so rows are split by the CSV parser itself
+    @RequiredArgsConstructor
+    private static class CsvRowReader implements RowReader {
+        final MappingIterator<UserCreationRequest> rows;
+        JsonLocation lastErrorLocation;
+        boolean stuck;
+
+        @Override
+        public UserCreationRequest next() throws IOException {
+            try {
+                return rows.hasNextValue() ? rows.nextValue() : null;
+            } catch (RuntimeException | IOException e) {
+                // The iterator skips to the next record after an error; if it did not move, nothing more can be read
+                JsonLocation location = rows.getCurrentLocation();
+                stuck = Objects.nonNull(lastErrorLocation)
+                        && Objects.nonNull(location)
+                        && location.getCharOffset() == lastErrorLocation.getCharOffset();
+                lastErrorLocation = location;
+                throw e;
+            }
+        }
+
+        @Override
+        public boolean canContinue() {
+            return !stuck;
+        }
+
+        @Override
+        public void close() throws IOException {
+            rows.close();
+        }
+    }
+}
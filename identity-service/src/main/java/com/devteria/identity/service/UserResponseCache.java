@@ -0,0 +1,139 @@
+package com.devteria.identity.service;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.devteria.event.dto.UserCacheInvalidatedEvent;
+import com.devteria.identity.configuration.KafkaTopicConfig;
+import com.devteria.identity.dto.response.UserResponse;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Bounded cache of UserResponse, reachable by id and by username. Entries are evicted when a
+ * user or the role catalogue changes; with app.user-cache.broadcast the eviction is also sent
+ * to the other instances, otherwise they see the change once expire-after-write has passed.
+ * Inside a transaction the eviction waits for the commit, so nothing reloads the old row in
+ * between. A load that overlaps an eviction does not leave its result in the cache.
+ */
+@Slf4j
+@Component
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class UserResponseCache {
+    static final String ID_PREFIX = "id:";
+    static final String USERNAME_PREFIX = "username:";
+
+    Cache<String, UserResponse> cache;
+    // Bumped by every eviction, before it invalidates
+    AtomicLong generation = new AtomicLong();
+    KafkaTemplate<String, Object> kafkaTemplate;
+    boolean broadcast;
+
+    public UserResponseCache(
+            KafkaTemplate<String, Object> kafkaTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${app.user-cache.maximum-size:10000}") long maximumSize,
+            @Value("${app.user-cache.expire-after-write:10m}") Duration expireAfterWrite,
+            @Value("${app.user-cache.broadcast:false}") boolean broadcast) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        this.kafkaTemplate = kafkaTemplate;
+        this.broadcast = broadcast;
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "users");
+    }
+
+    public UserResponse getById(String id, Supplier<UserResponse> loader) {
+        return get(ID_PREFIX + id, loader);
+    }
+
+    public UserResponse getByUsername(String username, Supplier<UserResponse> loader) {
+        return get(USERNAME_PREFIX + username, loader);
+    }
+
+    public void evict(String id, String username) {
+        afterCommit(() -> {
+            evictLocal(id, username);
+            publish(UserCacheInvalidatedEvent.builder().userId(id).username(username).build());
+        });
+    }
+
+    public void evictAll() {
+        afterCommit(() -> {
+            evictAllLocal();
+            publish(new UserCacheInvalidatedEvent());
+        });
+    }
+
+    public void evictLocal(String id, String username) {
+        generation.incrementAndGet();
+        if (Objects.nonNull(id)) cache.invalidate(ID_PREFIX + id);
+        if (Objects.nonNull(username)) cache.invalidate(USERNAME_PREFIX + username);
+    }
+
+    public void evictAllLocal() {
+        generation.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    private UserResponse get(String key, Supplier<UserResponse> loader) {
+        UserResponse cached = cache.getIfPresent(key);
+        if (Objects.nonNull(cached)) return cached;
+
+        long loadGeneration = generation.get();
+        // Loader exceptions (e.g. user not found) propagate and nothing is cached
+        UserResponse loaded = loader.get();
+        cache.put(ID_PREFIX + loaded.getId(), loaded);
+        cache.put(USERNAME_PREFIX + loaded.getUsername(), loaded);
+
+        // An eviction since the load started may have run before these puts; take them back.
+        // One that bumps after this check also invalidates after the puts, so either way the
+        // old value does not stay.
+        if (generation.get() != loadGeneration) {
+            cache.invalidate(ID_PREFIX + loaded.getId());
+            cache.invalidate(USERNAME_PREFIX + loaded.getUsername());
+        }
+
+        return loaded;
+    }
+
+    private static void afterCommit(Runnable eviction) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            eviction.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                eviction.run();
+            }
+        });
+    }
+
+    private void publish(UserCacheInvalidatedEvent event) {
+        if (!broadcast) return;
+
+        kafkaTemplate.send(KafkaTopicConfig.USER_CACHE_INVALIDATED_TOPIC, event).whenComplete((result, exception) -> {
+            if (Objects.nonNull(exception))
+                log.warn("Cannot broadcast user cache invalidation, other instances expire it on their own", exception);
+        });
+    }
+}
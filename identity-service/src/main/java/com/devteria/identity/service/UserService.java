@@ -1,29 +1,37 @@
 package com.devteria.identity.service;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.HashSet;
 import java.util.List;
+import java.util.stream.Stream;
 
 import com.devteria.event.dto.NotificationEvent;
+import com.devteria.event.dto.UserCreatedEvent;
 import org.springframework.dao.DataIntegrityViolationException;
-import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.devteria.identity.configuration.KafkaTopicConfig;
 import com.devteria.identity.constant.PredefinedRole;
 import com.devteria.identity.dto.request.UserCreationRequest;
 import com.devteria.identity.dto.request.UserUpdateRequest;
+import com.devteria.identity.dto.response.CursorPageResponse;
 import com.devteria.identity.dto.response.UserResponse;
+import com.devteria.identity.dto.response.UserSummaryResponse;
 import com.devteria.identity.entity.Role;
 import com.devteria.identity.entity.User;
 import com.devteria.identity.exception.AppException;
 import com.devteria.identity.exception.ErrorCode;
 import com.devteria.identity.mapper.ProfileMapper;
 import com.devteria.identity.mapper.UserMapper;
-import com.devteria.identity.repository.RoleRepository;
 import com.devteria.identity.repository.UserRepository;
-import com.devteria.identity.repository.httpclient.ProfileClient;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
@@ -35,34 +43,38 @@ import lombok.extern.slf4j.Slf4j;
 @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
 @Slf4j
 public class UserService {
+    static final int MAX_PAGE_SIZE = 100;
+
     UserRepository userRepository;
-    RoleRepository roleRepository;
+    RoleCatalog roleCatalog;
     UserMapper userMapper;
     ProfileMapper profileMapper;
     PasswordEncoder passwordEncoder;
-    ProfileClient profileClient;
-    KafkaTemplate<String, Object> kafkaTemplate;
+    OutboxService outboxService;
+    ObjectMapper objectMapper;
+    UserResponseCache userResponseCache;
 
+    @Transactional
     public UserResponse createUser(UserCreationRequest request) {
         User user = userMapper.toUser(request);
         user.setPassword(passwordEncoder.encode(request.getPassword()));
         HashSet<Role> roles = new HashSet<>();
 
-        roleRepository.findById(PredefinedRole.USER_ROLE).ifPresent(roles::add);
+        roleCatalog.findRole(PredefinedRole.USER_ROLE).ifPresent(roles::add);
 
         user.setRoles(roles);
         user.setEmailVerified(false);
 
         try {
-            user = userRepository.save(user);
+            user = userRepository.saveAndFlush(user);
         } catch (DataIntegrityViolationException exception){
             throw new AppException(ErrorCode.USER_EXISTED);
         }
 
-        var profileRequest = profileMapper.toProfileCreationRequest(request);
-        profileRequest.setUserId(user.getId());
-
-        var profile = profileClient.createProfile(profileRequest);
+        // Published by OutboxRelay after this transaction commits, profile-service creates the profile
+        UserCreatedEvent userCreatedEvent = profileMapper.toUserCreatedEvent(request);
+        userCreatedEvent.setUserId(user.getId());
+        outboxService.enqueue(KafkaTopicConfig.USER_CREATED_TOPIC, user.getId(), userCreatedEvent);
 
         NotificationEvent notificationEvent = NotificationEvent.builder()
                 .channel("EMAIL")
@@ -71,22 +83,18 @@ public class UserService {
                 .body("Hello, " + request.getUsername())
                 .build();
 
-        // Publish message to kafka
-        kafkaTemplate.send("notification-delivery", notificationEvent);
-
-        var userCreationReponse = userMapper.toUserResponse(user);
-        userCreationReponse.setId(profile.getResult().getId());
+        outboxService.enqueue(KafkaTopicConfig.NOTIFICATION_DELIVERY_TOPIC, request.getEmail(), notificationEvent);
 
-        return userCreationReponse;
+        return userMapper.toUserResponse(user);
     }
 
     public UserResponse getMyInfo() {
         var context = SecurityContextHolder.getContext();
         String name = context.getAuthentication().getName();
 
-        User user = userRepository.findByUsername(name).orElseThrow(() -> new AppException(ErrorCode.USER_NOT_EXISTED));
-
-        return userMapper.toUserResponse(user);
+        return userResponseCache.getByUsername(name, () -> userMapper.toUserResponse(userRepository
+                .findWithRolesByUsername(name)
+                .orElseThrow(() -> new AppException(ErrorCode.USER_NOT_EXISTED))));
     }
 
     @PreAuthorize("hasRole('ADMIN')")
@@ -96,26 +104,61 @@ public class UserService {
         userMapper.updateUser(user, request);
         user.setPassword(passwordEncoder.encode(request.getPassword()));
 
-        var roles = roleRepository.findAllById(request.getRoles());
+        var roles = roleCatalog.findRoles(request.getRoles());
         user.setRoles(new HashSet<>(roles));
 
-        return userMapper.toUserResponse(userRepository.save(user));
+        var response = userMapper.toUserResponse(userRepository.save(user));
+        userResponseCache.evict(user.getId(), user.getUsername());
+
+        return response;
     }
 
     @PreAuthorize("hasRole('ADMIN')")
     public void deleteUser(String userId) {
-        userRepository.deleteById(userId);
+        userRepository.findById(userId).ifPresent(user -> {
+            userRepository.delete(user);
+            userResponseCache.evict(user.getId(), user.getUsername());
+        });
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    public CursorPageResponse<UserResponse> getUsers(String cursor, int size, String role, Boolean emailVerified) {
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+
+        // One extra id tells whether there is a next page without a count query
+        List<String> ids = userRepository.findIdsAfter(cursor, role, emailVerified, PageRequest.of(0, pageSize + 1));
+        boolean hasNext = ids.size() > pageSize;
+        if (hasNext) ids = ids.subList(0, pageSize);
+
+        List<UserResponse> users = ids.isEmpty()
+                ? List.of()
+                : userRepository.findAllWithRolesByIdIn(ids, Sort.by("id")).stream()
+                        .map(userMapper::toUserResponse)
+                        .toList();
+
+        return CursorPageResponse.<UserResponse>builder()
+                .pageSize(pageSize)
+                .nextCursor(hasNext ? ids.get(ids.size() - 1) : null)
+                .data(users)
+                .build();
     }
 
     @PreAuthorize("hasRole('ADMIN')")
-    public List<UserResponse> getUsers() {
-        log.info("In method get Users");
-        return userRepository.findAll().stream().map(userMapper::toUserResponse).toList();
+    @Transactional(readOnly = true)
+    public void exportUsers(String role, Boolean emailVerified, OutputStream outputStream) throws IOException {
+        try (Stream<UserSummaryResponse> users = userRepository.streamSummaries(role, emailVerified)) {
+            for (UserSummaryResponse user : (Iterable<UserSummaryResponse>) users::iterator) {
+                outputStream.write(objectMapper.writeValueAsBytes(user));
+                outputStream.write('\n');
+            }
+        }
+        outputStream.flush();
     }
 
     @PreAuthorize("hasRole('ADMIN')")
     public UserResponse getUser(String id) {
-        return userMapper.toUserResponse(
-                userRepository.findById(id).orElseThrow(() -> new AppException(ErrorCode.USER_NOT_EXISTED)));
+        return userResponseCache.getById(id, () -> userMapper.toUserResponse(userRepository
+                .findWithRolesById(id)
+                .orElseThrow(() -> new AppException(ErrorCode.USER_NOT_EXISTED))));
     }
 }
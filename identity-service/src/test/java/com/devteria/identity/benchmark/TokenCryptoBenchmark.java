@@ -0,0 +1,105 @@
+package com.devteria.identity.benchmark;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.devteria.identity.configuration.JwtProperties;
+import com.devteria.identity.service.TokenCrypto;
+import com.nimbusds.jose.*;
+import com.nimbusds.jose.crypto.MACSigner;
+import com.nimbusds.jose.crypto.MACVerifier;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+
+/**
+ * Compares building signers, verifiers and password encoders per call (the old
+ * AuthenticationService behaviour) with the shared instances used now.
+ * Run main() from the IDE, or add -prof gc to the options to see allocation rates.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TokenCryptoBenchmark {
+    private static final String SIGNER_KEY = "1TjXchw5FloESb63Kc+DFhTARvpWL4jUGCwfGWxuG5SIf/1y/LgJxHnMqaF6A/ij";
+
+    private TokenCrypto tokenCrypto;
+    private PasswordEncoder sharedPasswordEncoder;
+    private JWTClaimsSet claims;
+    private String token;
+    private String passwordHash;
+
+    @Setup
+    public void setup() throws JOSEException {
+        JwtProperties jwtProperties = new JwtProperties();
+        jwtProperties.setSignerKey(SIGNER_KEY);
+        jwtProperties.setKeyId("bookteria-1");
+
+        tokenCrypto = new TokenCrypto(jwtProperties);
+        sharedPasswordEncoder = new BCryptPasswordEncoder(10);
+
+        claims = new JWTClaimsSet.Builder()
+                .subject(UUID.randomUUID().toString())
+                .issuer("devteria.com")
+                .issueTime(new Date())
+                .expirationTime(Date.from(Instant.now().plus(1, ChronoUnit.HOURS)))
+                .jwtID(UUID.randomUUID().toString())
+                .claim("scope", "ROLE_USER")
+                .build();
+        token = tokenCrypto.sign(claims);
+        passwordHash = sharedPasswordEncoder.encode("12345678");
+    }
+
+    @Benchmark
+    public String signWithNewSigner() throws JOSEException {
+        JWSObject jwsObject = new JWSObject(new JWSHeader(JWSAlgorithm.HS512), new Payload(claims.toJSONObject()));
+        jwsObject.sign(new MACSigner(SIGNER_KEY.getBytes()));
+        return jwsObject.serialize();
+    }
+
+    @Benchmark
+    public String signWithSharedSigner() throws JOSEException {
+        return tokenCrypto.sign(claims);
+    }
+
+    @Benchmark
+    public boolean verifyWithNewVerifier() throws Exception {
+        return SignedJWT.parse(token).verify(new MACVerifier(SIGNER_KEY.getBytes()));
+    }
+
+    @Benchmark
+    public boolean verifyWithSharedVerifier() throws Exception {
+        return tokenCrypto.verify(SignedJWT.parse(token));
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public boolean loginWithNewPasswordEncoder() {
+        return new BCryptPasswordEncoder(10).matches("12345678", passwordHash);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public boolean loginWithSharedPasswordEncoder() {
+        return sharedPasswordEncoder.matches("12345678", passwordHash);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                        .include(TokenCryptoBenchmark.class.getSimpleName())
+                        .build())
+                .run();
+    }
+}
@@ -0,0 +1,49 @@
+package com.devteria.identity.configuration;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalManagementPort;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.TestPropertySource;
+
+// Metrics export, and so the prometheus endpoint, is off in tests unless asked for
+@AutoConfigureObservability(tracing = false)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@TestPropertySource(
+        locations = "/test.properties",
+        properties = {
+            "management.server.port=0",
+            "management.endpoints.web.exposure.include=health,metrics,prometheus",
+            "spring.kafka.listener.auto-startup=false",
+            "spring.kafka.admin.auto-create=false"
+        })
+public class SecurityConfigTest {
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @LocalManagementPort
+    private int managementPort;
+
+    @Test
+    void prometheus_withoutToken_served() {
+        var response = restTemplate.getForEntity(actuator("/prometheus"), String.class);
+
+        Assertions.assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        Assertions.assertThat(response.getBody()).contains("hikaricp_connections_acquire");
+    }
+
+    @Test
+    void metrics_withoutToken_unauthorized() {
+        var response = restTemplate.getForEntity(actuator("/metrics"), String.class);
+
+        Assertions.assertThat(response.getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+    }
+
+    private String actuator(String path) {
+        return "http://localhost:" + managementPort + "/actuator" + path;
+    }
+}
@@ -0,0 +1,100 @@
+package com.devteria.identity.service;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.assertj.core.api.Assertions;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.TestPropertySource;
+
+import com.devteria.identity.dto.request.AuthenticationRequest;
+import com.devteria.identity.entity.Permission;
+import com.devteria.identity.entity.Role;
+import com.devteria.identity.entity.User;
+import com.devteria.identity.repository.PermissionRepository;
+import com.devteria.identity.repository.RoleRepository;
+import com.devteria.identity.repository.UserRepository;
+import com.nimbusds.jwt.SignedJWT;
+
+@SpringBootTest
+@TestPropertySource(
+        locations = "/test.properties",
+        properties = {
+            "spring.datasource.url=jdbc:h2:mem:authdb;MODE=MYSQL;NON_KEYWORDS=USER",
+            // Counts statements per thread, so the scheduled outbox relay and purge jobs are not included
+            "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.devteria.identity.service.AuthenticationServiceTest$CountingStatementInspector",
+            "spring.kafka.listener.auto-startup=false",
+            "spring.kafka.admin.auto-create=false"
+        })
+public class AuthenticationServiceTest {
+    @Autowired
+    private AuthenticationService authenticationService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private PermissionRepository permissionRepository;
+
+    @Autowired
+    private RoleCatalog roleCatalog;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    public static class CountingStatementInspector implements StatementInspector {
+        static final ThreadLocal<Integer> COUNT = ThreadLocal.withInitial(() -> 0);
+
+        @Override
+        public String inspect(String sql) {
+            COUNT.set(COUNT.get() + 1);
+            return sql;
+        }
+    }
+
+    @BeforeEach
+    void initData() {
+        Permission permission = permissionRepository.save(
+                Permission.builder().name("APPROVE_POST").build());
+        Role role = roleRepository.save(
+                Role.builder().name("ADMIN").permissions(new HashSet<>(Set.of(permission))).build());
+        roleCatalog.rebuild();
+
+        userRepository.save(User.builder()
+                .username("john")
+                .password(passwordEncoder.encode("12345678"))
+                .roles(new HashSet<>(Set.of(role)))
+                .build());
+
+        CountingStatementInspector.COUNT.remove();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        userRepository.deleteAll();
+        roleRepository.deleteAll();
+        permissionRepository.deleteAll();
+    }
+
+    @Test
+    void authenticate_validCredentials_singleStatement() throws Exception {
+        var response = authenticationService.authenticate(AuthenticationRequest.builder()
+                .username("john")
+                .password("12345678")
+                .build());
+
+        var scope = SignedJWT.parse(response.getToken()).getJWTClaimsSet().getStringClaim("scope");
+
+        Assertions.assertThat(scope).isEqualTo("ROLE_ADMIN APPROVE_POST");
+        Assertions.assertThat(CountingStatementInspector.COUNT.get()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,110 @@
+package com.devteria.identity.service;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.test.context.TestPropertySource;
+
+import com.devteria.identity.entity.OutboxEvent;
+import com.devteria.identity.repository.OutboxEventRepository;
+
+@SpringBootTest
+@TestPropertySource(
+        locations = "/test.properties",
+        properties = {
+            "spring.datasource.url=jdbc:h2:mem:outboxdb;MODE=MYSQL;NON_KEYWORDS=USER",
+            "spring.kafka.listener.auto-startup=false",
+            "spring.kafka.admin.auto-create=false",
+            "app.outbox.relay-interval=3600000",
+            "app.outbox.batch-size=2",
+            "app.outbox.max-attempts=2"
+        })
+public class OutboxRelayTest {
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @MockBean
+    private KafkaTemplate<String, Object> kafkaTemplate;
+
+    @AfterEach
+    void cleanUp() {
+        outboxEventRepository.deleteAll();
+    }
+
+    @Test
+    void relay_unreadableRowsAtHead_markedFailedAndLaterRowsPublished() {
+        when(kafkaTemplate.send(anyString(), anyString(), any())).thenReturn(acknowledged());
+        save("missing-1", "com.devteria.event.dto.Missing", 1);
+        save("missing-2", "com.devteria.event.dto.Missing", 2);
+        save("ok", "java.util.HashMap", 3);
+
+        outboxRelay.relay();
+        outboxRelay.relay();
+
+        Assertions.assertThat(outboxEventRepository.findAll())
+                .allSatisfy(event -> Assertions.assertThat(event.getFailedAt()).isNotNull())
+                .extracting(OutboxEvent::getEventKey)
+                .containsExactlyInAnyOrder("missing-1", "missing-2");
+    }
+
+    @Test
+    void relay_sendFails_retriedLaterThenMarkedFailed() {
+        when(kafkaTemplate.send(anyString(), eq("broken"), any()))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("broker down")));
+        when(kafkaTemplate.send(anyString(), eq("ok"), any())).thenReturn(acknowledged());
+        save("broken", "java.util.HashMap", 1);
+
+        outboxRelay.relay();
+
+        OutboxEvent retried = outboxEventRepository.findAll().get(0);
+        Assertions.assertThat(retried.getAttempts()).isEqualTo(1);
+        Assertions.assertThat(retried.getFailedAt()).isNull();
+        Assertions.assertThat(retried.getNextAttemptAt()).isAfter(Instant.now());
+
+        // Waiting out its backoff does not hold back newer rows
+        save("ok", "java.util.HashMap", 2);
+        outboxRelay.relay();
+        Assertions.assertThat(outboxEventRepository.findAll())
+                .extracting(OutboxEvent::getEventKey)
+                .containsExactly("broken");
+
+        retried.setNextAttemptAt(Instant.now());
+        outboxEventRepository.save(retried);
+        outboxRelay.relay();
+
+        OutboxEvent failed = outboxEventRepository.findAll().get(0);
+        Assertions.assertThat(failed.getAttempts()).isEqualTo(2);
+        Assertions.assertThat(failed.getFailedAt()).isNotNull();
+    }
+
+    private void save(String key, String eventType, int secondsAgo) {
+        outboxEventRepository.save(OutboxEvent.builder()
+                .topic("test-topic")
+                .eventKey(key)
+                .eventType(eventType)
+                .payload("{}")
+                .createdAt(Instant.now().minusSeconds(100 - secondsAgo))
+                .build());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static CompletableFuture<SendResult<String, Object>> acknowledged() {
+        return CompletableFuture.completedFuture((SendResult<String, Object>) null);
+    }
+}
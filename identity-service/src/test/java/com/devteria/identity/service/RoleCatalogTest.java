@@ -0,0 +1,57 @@
+package com.devteria.identity.service;
+
+import java.util.List;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+
+import com.devteria.identity.entity.Role;
+import com.devteria.identity.repository.RoleRepository;
+
+@SpringBootTest
+@TestPropertySource(
+        locations = "/test.properties",
+        properties = {
+            "spring.datasource.url=jdbc:h2:mem:rolecatalogdb;MODE=MYSQL;NON_KEYWORDS=USER",
+            "spring.kafka.listener.auto-startup=false",
+            "spring.kafka.admin.auto-create=false"
+        })
+public class RoleCatalogTest {
+    @Autowired
+    private RoleCatalog roleCatalog;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @AfterEach
+    void cleanUp() {
+        roleRepository.deleteAll();
+        roleCatalog.rebuild();
+    }
+
+    @Test
+    void findRole_createdAfterLastRebuild_foundInDatabase() {
+        // Like a role created on another instance: saved without rebuilding this catalog
+        roleRepository.save(Role.builder().name("EDITOR").build());
+
+        Assertions.assertThat(roleCatalog.findRole("EDITOR"))
+                .map(Role::getName)
+                .contains("EDITOR");
+        Assertions.assertThat(roleCatalog.roles()).isEmpty();
+    }
+
+    @Test
+    void findRoles_someInSnapshot_missingOnesFoundInDatabase() {
+        roleRepository.save(Role.builder().name("USER").build());
+        roleCatalog.rebuild();
+        roleRepository.save(Role.builder().name("EDITOR").build());
+
+        var roles = roleCatalog.findRoles(List.of("USER", "EDITOR", "UNKNOWN"));
+
+        Assertions.assertThat(roles).extracting(Role::getName).containsExactlyInAnyOrder("USER", "EDITOR");
+    }
+}
@@ -0,0 +1,161 @@
+package com.devteria.identity.service;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.TestPropertySource;
+
+import com.devteria.identity.dto.response.UserImportResponse;
+import com.devteria.identity.dto.response.UserImportRowResult;
+import com.devteria.identity.entity.User;
+import com.devteria.identity.repository.OutboxEventRepository;
+import com.devteria.identity.repository.UserRepository;
+
+@SpringBootTest
+@TestPropertySource(
+        locations = "/test.properties",
+        properties = {
+            // Like the utf8mb4_unicode_ci username and email columns
+            "spring.datasource.url=jdbc:h2:mem:importdb;MODE=MYSQL;NON_KEYWORDS=USER;IGNORECASE=TRUE",
+            "spring.kafka.listener.auto-startup=false",
+            "spring.kafka.admin.auto-create=false",
+            "app.outbox.relay-interval=3600000"
+        })
+@WithMockUser(roles = "ADMIN")
+public class UserImportServiceTest {
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    @Autowired
+    private UserImportService userImportService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @AfterEach
+    void cleanUp() {
+        outboxEventRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void importUsers_missingPassword_rowFailsOthersCreated() throws Exception {
+        var response = importUsers(
+                NDJSON,
+                """
+                {"username":"alice","password":"12345678","email":"alice@example.com"}
+                {"username":"bobby","email":"bob@example.com"}
+                {"username":"carol","password":"12345678","email":"carol@example.com"}
+                """);
+
+        Assertions.assertThat(response.getCreated()).isEqualTo(2);
+        Assertions.assertThat(response.getRows().get(1).isCreated()).isFalse();
+        Assertions.assertThat(response.getRows().get(1).getCode()).isEqualTo(1004);
+        Assertions.assertThat(userRepository.count()).isEqualTo(2);
+    }
+
+    @Test
+    void importUsers_malformedNdjsonLine_rowFailsOthersCreated() throws Exception {
+        var response = importUsers(
+                NDJSON,
+                """
+                {"username":"alice","password":"12345678","email":"alice@example.com"}
+                {"username":"bobby",,"email":"bob@example.com"}
+                {"username":"carol","password":"12345678","email":"carol@example.com"}
+                """);
+
+        Assertions.assertThat(response.getTotal()).isEqualTo(3);
+        Assertions.assertThat(response.getCreated()).isEqualTo(2);
+        Assertions.assertThat(response.getRows().get(1).getCode()).isEqualTo(1001);
+    }
+
+    @Test
+    void importUsers_unterminatedCsvQuote_stopsWithPartialReport() throws Exception {
+        var response = importUsers(
+                UserImportService.TEXT_CSV,
+                """
+                username,password,email
+                alice,12345678,alice@example.com
+                bobby,"12345678,bob@example.com
+                carol,12345678,carol@example.com
+                """);
+
+        Assertions.assertThat(response.getCreated()).isEqualTo(1);
+        Assertions.assertThat(response.getRows())
+                .extracting(UserImportRowResult::getRow)
+                .containsExactly(1, 2);
+    }
+
+    @Test
+    void importUsers_malformedCsvLine_rowFailsOthersCreated() throws Exception {
+        var response = importUsers(
+                UserImportService.TEXT_CSV,
+                """
+                username,password,email,dob
+                alice,12345678,alice@example.com,1990-01-01
+                bobby,12345678,bob@example.com,not-a-date
+                carol,12345678,carol@example.com,1990-01-01
+                """);
+
+        Assertions.assertThat(response.getTotal()).isEqualTo(3);
+        Assertions.assertThat(response.getCreated()).isEqualTo(2);
+        Assertions.assertThat(response.getRows().get(1).getRow()).isEqualTo(2);
+        Assertions.assertThat(response.getRows().get(1).isCreated()).isFalse();
+    }
+
+    @Test
+    void importUsers_duplicateDifferingOnlyInCase_rowFailsOthersCreated() throws Exception {
+        var response = importUsers(
+                NDJSON,
+                """
+                {"username":"alice","password":"12345678","email":"alice@example.com"}
+                {"username":"Alice","password":"12345678","email":"other@example.com"}
+                {"username":"carol","password":"12345678","email":"ALICE@example.com"}
+                {"username":"david","password":"12345678","email":"david@example.com"}
+                """);
+
+        Assertions.assertThat(response.getCreated()).isEqualTo(2);
+        Assertions.assertThat(response.getRows())
+                .filteredOn(row -> !row.isCreated())
+                .extracting(UserImportRowResult::getRow, UserImportRowResult::getCode)
+                .containsExactly(Assertions.tuple(2, 1002), Assertions.tuple(3, 1002));
+    }
+
+    @Test
+    void importUsers_existingUserDifferingOnlyInCase_rowFailsChunkCommitted() throws Exception {
+        userRepository.save(User.builder()
+                .username("johnny")
+                .email("johnny@example.com")
+                .password("hash")
+                .build());
+
+        var response = importUsers(
+                NDJSON,
+                """
+                {"username":"alice","password":"12345678","email":"alice@example.com"}
+                {"username":"Johnny","password":"12345678","email":"other@example.com"}
+                {"username":"carol","password":"12345678","email":"JOHNNY@example.com"}
+                """);
+
+        Assertions.assertThat(response.getCreated()).isEqualTo(1);
+        Assertions.assertThat(response.getRows())
+                .filteredOn(row -> !row.isCreated())
+                .extracting(UserImportRowResult::getRow, UserImportRowResult::getCode)
+                .containsExactly(Assertions.tuple(2, 1002), Assertions.tuple(3, 1002));
+        Assertions.assertThat(userRepository.count()).isEqualTo(2);
+    }
+
+    private UserImportResponse importUsers(MediaType contentType, String body) throws Exception {
+        return userImportService.importUsers(
+                new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), contentType);
+    }
+}
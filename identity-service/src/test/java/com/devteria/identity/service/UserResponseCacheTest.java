@@ -0,0 +1,70 @@
+package com.devteria.identity.service;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.devteria.identity.dto.response.UserResponse;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class UserResponseCacheTest {
+    private final UserResponseCache userResponseCache =
+            new UserResponseCache(null, new SimpleMeterRegistry(), 100, Duration.ofMinutes(10), false);
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @AfterEach
+    void cleanUp() {
+        if (TransactionSynchronizationManager.isSynchronizationActive())
+            TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    @Test
+    void getById_cached_loadsOnce() {
+        userResponseCache.getById("1", () -> load("john"));
+        userResponseCache.getById("1", () -> load("john"));
+        userResponseCache.getByUsername("john", () -> load("john"));
+
+        Assertions.assertThat(loads.get()).isEqualTo(1);
+    }
+
+    @Test
+    void getById_evictedWhileLoading_oldValueNotCached() {
+        // The loader read the user, then an update evicted it before the loader's put
+        userResponseCache.getById("1", () -> {
+            UserResponse old = load("john");
+            userResponseCache.evict("1", "john");
+            return old;
+        });
+
+        UserResponse reloaded = userResponseCache.getById("1", () -> load("johnny"));
+
+        Assertions.assertThat(reloaded.getUsername()).isEqualTo("johnny");
+        Assertions.assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    void evict_insideTransaction_waitsForCommit() {
+        userResponseCache.getById("1", () -> load("john"));
+        TransactionSynchronizationManager.initSynchronization();
+
+        userResponseCache.evict("1", "john");
+        userResponseCache.getById("1", () -> load("john"));
+        Assertions.assertThat(loads.get()).isEqualTo(1);
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        userResponseCache.getById("1", () -> load("johnny"));
+        Assertions.assertThat(loads.get()).isEqualTo(2);
+    }
+
+    private UserResponse load(String username) {
+        loads.incrementAndGet();
+        return UserResponse.builder().id("1").username(username).build();
+    }
+}
@@ -14,6 +14,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.TestPropertySource;
 
@@ -21,6 +22,7 @@ import com.devteria.identity.dto.request.UserCreationRequest;
 import com.devteria.identity.dto.response.UserResponse;
 import com.devteria.identity.entity.User;
 import com.devteria.identity.exception.AppException;
+import com.devteria.identity.repository.OutboxEventRepository;
 import com.devteria.identity.repository.UserRepository;
 
 @SpringBootTest
@@ -29,9 +31,15 @@ public class UserServiceTest {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private UserResponseCache userResponseCache;
+
     @MockBean
     private UserRepository userRepository;
 
+    @MockBean
+    private OutboxEventRepository outboxEventRepository;
+
     private UserCreationRequest request;
     private UserResponse userResponse;
     private User user;
@@ -39,6 +47,8 @@ public class UserServiceTest {
 
     @BeforeEach
     void initData() {
+        userResponseCache.evictAllLocal();
+
         dob = LocalDate.of(1990, 1, 1);
 
         request = UserCreationRequest.builder()
@@ -46,23 +56,20 @@ public class UserServiceTest {
                 .firstName("John")
                 .lastName("Doe")
                 .password("12345678")
+                .email("john@example.com")
                 .dob(dob)
                 .build();
 
         userResponse = UserResponse.builder()
                 .id("cf0600f538b3")
                 .username("john")
-                .firstName("John")
-                .lastName("Doe")
-                .dob(dob)
+                .email("john@example.com")
                 .build();
 
         user = User.builder()
                 .id("cf0600f538b3")
                 .username("john")
-                .firstName("John")
-                .lastName("Doe")
-                .dob(dob)
+                .email("john@example.com")
                 .build();
     }
 
@@ -70,7 +77,7 @@ public class UserServiceTest {
     void createUser_validRequest_success() {
         // GIVEN
         when(userRepository.existsByUsername(anyString())).thenReturn(false);
-        when(userRepository.save(any())).thenReturn(user);
+        when(userRepository.saveAndFlush(any())).thenReturn(user);
 
         // WHEN
         var response = userService.createUser(request);
@@ -83,7 +90,7 @@ public class UserServiceTest {
     @Test
     void createUser_userExisted_fail() {
         // GIVEN
-        when(userRepository.existsByUsername(anyString())).thenReturn(true);
+        when(userRepository.saveAndFlush(any())).thenThrow(new DataIntegrityViolationException("username"));
 
         // WHEN
         var exception = assertThrows(AppException.class, () -> userService.createUser(request));
@@ -95,7 +102,7 @@ public class UserServiceTest {
     @Test
     @WithMockUser(username = "john")
     void getMyInfo_valid_success() {
-        when(userRepository.findByUsername(anyString())).thenReturn(Optional.of(user));
+        when(userRepository.findWithRolesByUsername(anyString())).thenReturn(Optional.of(user));
 
         var response = userService.getMyInfo();
 
@@ -106,7 +113,7 @@ public class UserServiceTest {
     @Test
     @WithMockUser(username = "john")
     void getMyInfo_userNotFound_error() {
-        when(userRepository.findByUsername(anyString())).thenReturn(Optional.ofNullable(null));
+        when(userRepository.findWithRolesByUsername(anyString())).thenReturn(Optional.ofNullable(null));
 
         // WHEN
         var exception = assertThrows(AppException.class, () -> userService.getMyInfo());
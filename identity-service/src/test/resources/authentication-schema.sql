@@ -0,0 +1,51 @@
+create table if not exists permission (
+    name varchar(255) not null,
+    description varchar(255),
+    primary key (name)
+);
+
+create table if not exists role (
+    name varchar(255) not null,
+    description varchar(255),
+    primary key (name)
+);
+
+create table if not exists role_permissions (
+    role_name varchar(255) not null,
+    permissions_name varchar(255) not null,
+    primary key (role_name, permissions_name)
+);
+
+create table if not exists user (
+    id varchar(255) not null,
+    username varchar(255),
+    password varchar(255),
+    email varchar(255),
+    email_verified boolean default false not null,
+    primary key (id)
+);
+
+create table if not exists user_roles (
+    user_id varchar(255) not null,
+    roles_name varchar(255) not null,
+    primary key (user_id, roles_name)
+);
+
+create table if not exists invalidated_token (
+    id varchar(255) not null,
+    expiry_time timestamp(6),
+    primary key (id)
+);
+
+create table if not exists outbox_event (
+    id varchar(255) not null,
+    topic varchar(255),
+    event_key varchar(255),
+    event_type varchar(255),
+    payload text,
+    created_at timestamp(6),
+    attempts integer default 0 not null,
+    next_attempt_at timestamp(6),
+    failed_at timestamp(6),
+    primary key (id)
+);
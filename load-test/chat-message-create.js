@@ -0,0 +1,62 @@
+// Load test for POST /chat/messages/create, which blocks on MongoDB and on
+// profile-service (ProfileClient.getProfile) for every message.
+//
+// k6 run -e USERNAME=john -e PASSWORD=12345678 -e PEER_USER_ID=<user id> chat-message-create.js
+import http from 'k6/http';
+import { check, fail } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8888/api/v1';
+const MAX_VUS = parseInt(__ENV.MAX_VUS || '800');
+
+export const options = {
+    scenarios: {
+        ramp: {
+            executor: 'ramping-vus',
+            startVUs: 0,
+            // Ramp past Tomcat's 200 platform threads to show where requests start queueing
+            stages: [
+                { duration: '30s', target: MAX_VUS / 4 },
+                { duration: '30s', target: MAX_VUS / 2 },
+                { duration: '1m', target: MAX_VUS },
+                { duration: '30s', target: 0 },
+            ],
+        },
+    },
+    thresholds: {
+        http_req_failed: ['rate<0.01'],
+        'http_req_duration{name:create_message}': ['p(95)<1000'],
+    },
+};
+
+const jsonHeaders = (token) => ({
+    headers: {
+        'Content-Type': 'application/json',
+        ...(token ? { Authorization: `Bearer ${token}` } : {}),
+    },
+});
+
+export function setup() {
+    const login = http.post(
+        `${BASE_URL}/identity/auth/token`,
+        JSON.stringify({ username: __ENV.USERNAME, password: __ENV.PASSWORD }),
+        jsonHeaders());
+    if (login.status !== 200) fail(`login failed: ${login.status} ${login.body}`);
+    const token = login.json('result.token');
+
+    const conversation = http.post(
+        `${BASE_URL}/chat/conversations/create`,
+        JSON.stringify({ type: 'DIRECT', participantIds: [__ENV.PEER_USER_ID] }),
+        jsonHeaders(token));
+    if (conversation.status !== 200) fail(`conversation failed: ${conversation.status} ${conversation.body}`);
+
+    return { token, conversationId: conversation.json('result.id') };
+}
+
+export default function (data) {
+    const response = http.post(
+        `${BASE_URL}/chat/messages/create`,
+        JSON.stringify({ conversationId: data.conversationId, message: `load test ${__VU}-${__ITER}` }),
+        { ...jsonHeaders(data.token), tags: { name: 'create_message' } });
+
+    check(response, { 'message created': (r) => r.status === 200 });
+}
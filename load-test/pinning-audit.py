@@ -0,0 +1,86 @@
+#!/usr/bin/env python3
+"""Lists code in a jar that can block while holding a monitor, which pins a virtual thread's carrier.
+
+Follows calls inside the jar, so a synchronized block that calls a driver method doing socket I/O is
+reported too. Virtual calls are resolved on the declared owner only, so an empty result is a strong hint,
+not a proof; confirm under load with -Djdk.tracePinnedThreads=short.
+
+    python3 pinning-audit.py <jar>...   (needs javap from JDK 21 on the PATH)
+"""
+import re, subprocess, sys, zipfile
+from collections import defaultdict
+
+BLOCKING = re.compile(
+    r'(java/net/Socket[A-Za-z]*\.|java/io/InputStream\.read|java/io/OutputStream\.(write|flush)'
+    r'|java/nio/channels/\w+\.(read|write|connect|accept)|java/lang/Object\.wait'
+    r'|java/util/concurrent/locks/LockSupport\.park|java/util/concurrent/locks/Condition\.await'
+    r'|java/util/concurrent/Future\.get|java/util/concurrent/CompletableFuture\.(get|join)'
+    r'|java/util/concurrent/CountDownLatch\.await|java/util/concurrent/Semaphore\.acquire'
+    r'|java/lang/Thread\.sleep|java/util/concurrent/BlockingQueue\.(take|put)'
+    r'|java/util/concurrent/locks/(ReentrantLock|Lock)\.lock)')
+INVOKE = re.compile(r'invoke\w+\s+#\d+(?:,\s*\d+)?\s+// (?:Interface)?Method (\S+)')
+
+def javap(jar):
+    with zipfile.ZipFile(jar) as z:
+        names = [n[:-6] for n in z.namelist() if n.endswith('.class') and 'module-info' not in n]
+    for i in range(0, len(names), 300):
+        yield from subprocess.run(['javap', '-c', '-p', '-s', '-cp', jar] + names[i:i + 300],
+                                  capture_output=True, text=True).stdout.splitlines()
+
+def audit(jar):
+    calls = defaultdict(set)       # method -> methods it invokes
+    blocking = {}                  # method -> blocking JDK call it makes directly
+    held = []                      # (method, invoked method) made while holding a monitor
+    cls = method = None
+    synced = False
+    depth = 0
+    for line in javap(jar):
+        m = re.match(r'^(?:\w+ )*(?:class|interface|enum) ([\w.$]+)', line)
+        if m:
+            cls = m.group(1).replace('.', '/')
+            continue
+        if line.startswith('  ') and not line.startswith('   ') and line.rstrip().endswith(';'):
+            header, synced, depth = line, ' synchronized ' in ' ' + line, 0
+            name = re.search(r'([\w$<>]+)\(', line)
+            method = f'{cls}.{name.group(1) if name else "?"}'
+            continue
+        if line.strip().startswith('descriptor:') and method and ':' not in method:
+            method = f'{method}:{line.split()[1]}'
+            continue
+        if 'monitorenter' in line:
+            depth += 1
+        elif 'monitorexit' in line:
+            depth = max(0, depth - 1)
+        m = INVOKE.search(line)
+        if m and method:
+            target = m.group(1)
+            if '.' not in target.split(':')[0]:
+                target = f'{cls}.{target}'
+            calls[method].add(target)
+            if BLOCKING.search(target):
+                blocking.setdefault(method, target)
+            if synced or depth > 0:
+                held.append((method, target))
+
+    reach = dict(blocking)
+    changed = True
+    while changed:
+        changed = False
+        for caller, targets in calls.items():
+            if caller in reach:
+                continue
+            for target in targets:
+                if target in reach:
+                    reach[caller] = reach[target]
+                    changed = True
+                    break
+
+    return sorted({(m, t, reach.get(t) if not BLOCKING.search(t) else t)
+                   for m, t in held if BLOCKING.search(t) or t in reach})
+
+if __name__ == '__main__':
+    for jar in sys.argv[1:]:
+        findings = audit(jar)
+        print(f'{jar.rsplit("/", 1)[-1]}: {len(findings)} call sites that can block inside synchronized')
+        for method, target, call in findings:
+            print(f'  {method.split(":")[0]} -> {target.split(":")[0]} -> {call.split(":")[0]}')
@@ -8,7 +8,8 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
 
-@FeignClient(name = "email-client", url = "${notification.email.brevo-url}")
+@FeignClient(name = "email-client", url = "${notification.email.brevo-url}",
+        fallbackFactory = EmailClientFallbackFactory.class)
 public interface EmailClient {
     @PostMapping(value = "/v3/smtp/email", produces = MediaType.APPLICATION_JSON_VALUE)
     EmailResponse sendEmail(@RequestHeader("api-key") String apiKey, @RequestBody EmailRequest body);
@@ -0,0 +1,27 @@
+package com.devteria.notification.repository.httpclient;
+
+import com.devteria.notification.exception.AppException;
+import com.devteria.notification.exception.ErrorCode;
+import feign.FeignException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.openfeign.FallbackFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Called when sending fails or the circuit is open. Errors returned by the email
+ * provider are rethrown for EmailService to handle as before.
+ */
+@Slf4j
+@Component
+public class EmailClientFallbackFactory implements FallbackFactory<EmailClient> {
+    @Override
+    public EmailClient create(Throwable cause) {
+        return (apiKey, body) -> {
+            if (cause instanceof FeignException feignException)
+                throw feignException;
+
+            log.warn("Email provider unavailable: {}", cause.toString());
+            throw new AppException(ErrorCode.CANNOT_SEND_EMAIL);
+        };
+    }
+}
@@ -0,0 +1,23 @@
+package com.devteria.post.repository.httpclient;
+
+import com.devteria.post.dto.ApiResponse;
+import com.devteria.post.dto.response.UserProfileResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.openfeign.FallbackFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Posts are still listed without the profile, so a failed call or an open circuit
+ * just yields an empty result.
+ */
+@Slf4j
+@Component
+public class ProfileClientFallbackFactory implements FallbackFactory<ProfileClient> {
+    @Override
+    public ProfileClient create(Throwable cause) {
+        return userId -> {
+            log.warn("Cannot load profile {}: {}", userId, cause.toString());
+            return ApiResponse.<UserProfileResponse>builder().build();
+        };
+    }
+}
@@ -0,0 +1,25 @@
+package com.devteria.event.dto;
+
+import java.time.LocalDate;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class UserCreatedEvent {
+    String userId;
+    String username;
+    String email;
+    String firstName;
+    String lastName;
+    LocalDate dob;
+    String city;
+}
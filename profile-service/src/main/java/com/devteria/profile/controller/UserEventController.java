@@ -0,0 +1,26 @@
+package com.devteria.profile.controller;
+
+import com.devteria.event.dto.UserCreatedEvent;
+import com.devteria.profile.mapper.UserProfileMapper;
+import com.devteria.profile.service.UserProfileService;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class UserEventController {
+    UserProfileService userProfileService;
+    UserProfileMapper userProfileMapper;
+
+    @KafkaListener(topics = "user-created")
+    public void listenUserCreated(UserCreatedEvent message) {
+        log.info("User created: {}", message.getUserId());
+        userProfileService.createProfile(userProfileMapper.toProfileCreationRequest(message));
+    }
+}
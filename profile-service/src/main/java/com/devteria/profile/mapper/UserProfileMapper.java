@@ -1,5 +1,6 @@
 package com.devteria.profile.mapper;
 
+import com.devteria.event.dto.UserCreatedEvent;
 import com.devteria.profile.dto.request.UpdateProfileRequest;
 import org.mapstruct.Mapper;
 
@@ -12,6 +13,8 @@ import org.mapstruct.MappingTarget;
 public interface UserProfileMapper {
     UserProfile toUserProfile(ProfileCreationRequest request);
 
+    ProfileCreationRequest toProfileCreationRequest(UserCreatedEvent event);
+
     UserProfileResponse toUserProfileResponse(UserProfile entity);
 
     void update(@MappingTarget UserProfile entity, UpdateProfileRequest request);
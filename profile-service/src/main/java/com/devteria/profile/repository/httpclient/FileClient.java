@@ -11,7 +11,8 @@ import org.springframework.web.bind.annotation.RequestPart;
 import org.springframework.web.multipart.MultipartFile;
 
 @FeignClient(name = "file-service", url = "http://localhost:8084",
-    configuration = { AuthenticationRequestInterceptor.class })
+    configuration = { AuthenticationRequestInterceptor.class },
+    fallbackFactory = FileClientFallbackFactory.class)
 public interface FileClient {
     @PostMapping(value = "/file/media/upload", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     ApiResponse<FileResponse> uploadMedia(@RequestPart("file") MultipartFile file);
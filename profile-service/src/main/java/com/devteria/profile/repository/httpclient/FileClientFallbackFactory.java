@@ -0,0 +1,27 @@
+package com.devteria.profile.repository.httpclient;
+
+import com.devteria.profile.exception.AppException;
+import com.devteria.profile.exception.ErrorCode;
+import feign.FeignException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.openfeign.FallbackFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Called when the upload fails or the circuit is open. Client errors from file-service
+ * pass through unchanged; anything else means it is unavailable.
+ */
+@Slf4j
+@Component
+public class FileClientFallbackFactory implements FallbackFactory<FileClient> {
+    @Override
+    public FileClient create(Throwable cause) {
+        return file -> {
+            if (cause instanceof FeignException.FeignClientException clientException)
+                throw clientException;
+
+            log.warn("File service unavailable, cannot upload {}: {}", file.getOriginalFilename(), cause.toString());
+            throw new AppException(ErrorCode.FILE_SERVICE_UNAVAILABLE);
+        };
+    }
+}
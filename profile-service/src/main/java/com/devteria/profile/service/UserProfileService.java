@@ -34,6 +34,10 @@ public class UserProfileService {
     UserProfileMapper userProfileMapper;
 
     public UserProfileResponse createProfile(ProfileCreationRequest request) {
+        // user-created events are delivered at least once, a redelivery returns the existing profile
+        var existing = userProfileRepository.findByUserId(request.getUserId());
+        if (existing.isPresent()) return userProfileMapper.toUserProfileResponse(existing.get());
+
         UserProfile userProfile = userProfileMapper.toUserProfile(request);
         userProfile = userProfileRepository.save(userProfile);
 
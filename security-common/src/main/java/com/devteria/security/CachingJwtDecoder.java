@@ -0,0 +1,151 @@
+package com.devteria.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.ParseException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.security.oauth2.jwt.MappedJwtClaimSetConverter;
+import org.springframework.util.StringUtils;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSVerifier;
+import com.nimbusds.jose.crypto.MACVerifier;
+import com.nimbusds.jwt.SignedJWT;
+
+/**
+ * Decodes HS512 tokens issued by identity-service. The signature, key id and expiry are
+ * checked the first time a token is seen; the resulting Jwt is then kept in a bounded cache,
+ * keyed by a SHA-256 of the token, until the token expires (or max-ttl passes), so repeated
+ * requests with the same token skip parsing and the HMAC. Revocation is the gateway's job.
+ */
+public class CachingJwtDecoder implements JwtDecoder {
+    private final JWSVerifier activeVerifier;
+    private final Map<String, JWSVerifier> verifiers;
+    private final MappedJwtClaimSetConverter claimSetConverter =
+            MappedJwtClaimSetConverter.withDefaults(Collections.emptyMap());
+    private final Cache<String, Jwt> cache;
+    private final boolean cacheEnabled;
+    private final Clock clock;
+
+    public CachingJwtDecoder(JwtDecoderProperties properties) {
+        this(properties, Clock.systemUTC());
+    }
+
+    CachingJwtDecoder(JwtDecoderProperties properties, Clock clock) {
+        if (!StringUtils.hasText(properties.getSignerKey()))
+            throw new IllegalStateException("jwt.signerKey must be set to verify tokens");
+
+        try {
+            this.activeVerifier = new MACVerifier(properties.getSignerKey().getBytes());
+
+            Map<String, JWSVerifier> verifiersByKeyId = new HashMap<>();
+            for (var previousKey : properties.getPreviousKeys().entrySet())
+                verifiersByKeyId.put(previousKey.getKey(), new MACVerifier(previousKey.getValue().getBytes()));
+            if (StringUtils.hasText(properties.getKeyId())) verifiersByKeyId.put(properties.getKeyId(), activeVerifier);
+
+            this.verifiers = Map.copyOf(verifiersByKeyId);
+        } catch (JOSEException e) {
+            throw new IllegalStateException("Invalid jwt signer key", e);
+        }
+
+        this.clock = clock;
+        this.cacheEnabled = properties.getCache().getMaximumSize() > 0;
+        Duration maxTtl = properties.getCache().getMaxTtl();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getCache().getMaximumSize())
+                .expireAfter(new TokenLifetimeExpiry(clock, maxTtl))
+                .recordStats()
+                .build();
+    }
+
+    @Override
+    public Jwt decode(String token) throws JwtException {
+        if (!cacheEnabled) return verify(token);
+
+        String key = hash(token);
+
+        Jwt cached = cache.getIfPresent(key);
+        if (Objects.nonNull(cached) && cached.getExpiresAt().isAfter(clock.instant())) return cached;
+
+        Jwt jwt = verify(token);
+        cache.put(key, jwt);
+
+        return jwt;
+    }
+
+    public Cache<String, Jwt> cache() {
+        return cache;
+    }
+
+    private Jwt verify(String token) {
+        try {
+            SignedJWT signedJWT = SignedJWT.parse(token);
+
+            if (!JWSAlgorithm.HS512.equals(signedJWT.getHeader().getAlgorithm()))
+                throw new BadJwtException("Unsupported algorithm");
+
+            String keyId = signedJWT.getHeader().getKeyID();
+            JWSVerifier verifier = Objects.isNull(keyId) ? activeVerifier : verifiers.get(keyId);
+            if (Objects.isNull(verifier) || !signedJWT.verify(verifier)) throw new BadJwtException("Invalid signature");
+
+            Map<String, Object> claims = claimSetConverter.convert(
+                    signedJWT.getJWTClaimsSet().getClaims());
+            Instant expiresAt = (Instant) claims.get("exp");
+            if (Objects.isNull(expiresAt) || !expiresAt.isAfter(clock.instant()))
+                throw new BadJwtException("Token expired");
+
+            return Jwt.withTokenValue(token)
+                    .headers(headers -> headers.putAll(signedJWT.getHeader().toJSONObject()))
+                    .claims(values -> values.putAll(claims))
+                    .build();
+        } catch (ParseException | JOSEException e) {
+            throw new BadJwtException("Invalid token", e);
+        }
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record TokenLifetimeExpiry(Clock clock, Duration maxTtl) implements Expiry<String, Jwt> {
+        @Override
+        public long expireAfterCreate(String key, Jwt jwt, long currentTime) {
+            Duration untilExpiry = Duration.between(clock.instant(), jwt.getExpiresAt());
+            Duration ttl = untilExpiry.compareTo(maxTtl) < 0 ? untilExpiry : maxTtl;
+
+            return Math.max(0, ttl.toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Jwt jwt, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, jwt, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Jwt jwt, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.devteria.security;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.security.oauth2.resource.servlet.OAuth2ResourceServerAutoConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Registers a CachingJwtDecoder for services that do not declare their own JwtDecoder.
+ */
+@AutoConfiguration(before = OAuth2ResourceServerAutoConfiguration.class)
+@ConditionalOnClass(JwtDecoder.class)
+@EnableConfigurationProperties(JwtDecoderProperties.class)
+public class JwtDecoderAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean(JwtDecoder.class)
+    CachingJwtDecoder cachingJwtDecoder(JwtDecoderProperties properties) {
+        return new CachingJwtDecoder(properties);
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(MeterRegistry.class)
+    static class CachingJwtDecoderMetricsConfiguration {
+        // Only binds when the decoder above won; a service-supplied JwtDecoder has no cache to report
+        @Bean
+        MeterBinder cachingJwtDecoderMetrics(ObjectProvider<CachingJwtDecoder> decoder) {
+            return registry -> decoder.ifAvailable(
+                    available -> CaffeineCacheMetrics.monitor(registry, available.cache(), "jwt-decoder"));
+        }
+    }
+}
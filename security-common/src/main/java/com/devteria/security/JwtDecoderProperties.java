@@ -0,0 +1,39 @@
+package com.devteria.security;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.AccessLevel;
+import lombok.Data;
+import lombok.experimental.FieldDefaults;
+
+/**
+ * The same jwt.* keys identity-service signs with. Only the verification side is read here.
+ */
+@Data
+@ConfigurationProperties(prefix = "jwt")
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class JwtDecoderProperties {
+    String signerKey;
+
+    // Key id of signerKey, tokens signed with it carry it in the kid header
+    String keyId;
+
+    // Keys that were rotated out but may still have signed live tokens, by key id
+    Map<String, String> previousKeys = new HashMap<>();
+
+    Cache cache = new Cache();
+
+    @Data
+    @FieldDefaults(level = AccessLevel.PRIVATE)
+    public static class Cache {
+        // 0 turns the cache off and verifies every request
+        long maximumSize = 10_000;
+
+        // Upper bound on how long a decoded token is reused, never longer than the token lives
+        Duration maxTtl = Duration.ofMinutes(5);
+    }
+}
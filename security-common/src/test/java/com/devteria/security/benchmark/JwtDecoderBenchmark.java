@@ -0,0 +1,99 @@
+package com.devteria.security.benchmark;
+
+import java.text.ParseException;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+import com.devteria.security.CachingJwtDecoder;
+import com.devteria.security.JwtDecoderProperties;
+import com.nimbusds.jose.*;
+import com.nimbusds.jose.crypto.MACSigner;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+
+/**
+ * Compares the old per-service CustomJwtDecoder (parse only, no signature check) with
+ * CachingJwtDecoder on a cache miss (full verification) and on a cache hit.
+ * Run main() from the IDE, or add -prof gc to the options to see allocation rates.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtDecoderBenchmark {
+    private static final String SIGNER_KEY = "1TjXchw5FloESb63Kc+DFhTARvpWL4jUGCwfGWxuG5SIf/1y/LgJxHnMqaF6A/ij";
+
+    private CachingJwtDecoder cachingDecoder;
+    private CachingJwtDecoder uncachedDecoder;
+    private String token;
+
+    @Setup
+    public void setup() throws JOSEException {
+        JwtDecoderProperties properties = new JwtDecoderProperties();
+        properties.setSignerKey(SIGNER_KEY);
+        properties.setKeyId("bookteria-1");
+        cachingDecoder = new CachingJwtDecoder(properties);
+
+        JwtDecoderProperties uncachedProperties = new JwtDecoderProperties();
+        uncachedProperties.setSignerKey(SIGNER_KEY);
+        uncachedProperties.setKeyId("bookteria-1");
+        uncachedProperties.getCache().setMaximumSize(0);
+        uncachedDecoder = new CachingJwtDecoder(uncachedProperties);
+
+        JWTClaimsSet claims = new JWTClaimsSet.Builder()
+                .subject(UUID.randomUUID().toString())
+                .issuer("devteria.com")
+                .issueTime(new Date())
+                .expirationTime(Date.from(Instant.now().plus(1, ChronoUnit.HOURS)))
+                .jwtID(UUID.randomUUID().toString())
+                .claim("scope", "ROLE_USER")
+                .build();
+        JWSObject jwsObject = new JWSObject(
+                new JWSHeader.Builder(JWSAlgorithm.HS512).keyID("bookteria-1").build(),
+                new Payload(claims.toJSONObject()));
+        jwsObject.sign(new MACSigner(SIGNER_KEY.getBytes()));
+        token = jwsObject.serialize();
+
+        cachingDecoder.decode(token);
+    }
+
+    @Benchmark
+    public Jwt parseOnly() throws ParseException {
+        SignedJWT signedJWT = SignedJWT.parse(token);
+
+        return new Jwt(
+                token,
+                signedJWT.getJWTClaimsSet().getIssueTime().toInstant(),
+                signedJWT.getJWTClaimsSet().getExpirationTime().toInstant(),
+                signedJWT.getHeader().toJSONObject(),
+                signedJWT.getJWTClaimsSet().getClaims());
+    }
+
+    @Benchmark
+    public Jwt verifyEveryTime() {
+        return uncachedDecoder.decode(token);
+    }
+
+    @Benchmark
+    public Jwt verifyOnceThenCache() {
+        return cachingDecoder.decode(token);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                        .include(JwtDecoderBenchmark.class.getSimpleName())
+                        .build())
+                .run();
+    }
+}